@@ -1,53 +1,447 @@
 package controller;
 
 import model.*;
+import util.Constants;
+import util.TopK;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 
+// Generates ranked timetable suggestions.
+// Every run is driven by a seed: candidate c of a batch is always built from its own derived seed, and
+// with several threads worker w builds candidates w, w + threads, w + 2 * threads, ... Results are merged
+// in candidate order, so the same seed gives the same suggestions whatever the thread count.
 public class AutoScheduler {
-    private ConflictChecker conflictChecker;
+    // Version of the scheduling logic, part of the suggestion cache key. Bump it whenever a change to
+    // construction, improvement, ranking or deduplication can change the suggestions for the same inputs.
+    public static final int SOLVER_VERSION = 1;
+
+    private static final long CONSTRUCT_STREAM = 1;
+    private static final long IMPROVE_STREAM = 2;
+
+    private final long seed;
+    private final int threads;
+    private final Map<Integer, Integer> batchAttempts = new HashMap<>();
+    private final SchedulerStatistics statistics = new SchedulerStatistics();
+    private FeasibilityAnalyzer feasibilityAnalyzer;
+    private FeasibilityReport lastFeasibilityReport;
+    private TimetableScorer scorer;
     private Random random;
+    private SchedulingProblem problem;
+    private SchedulingProblem openProblem;
+    private int[] fixedInstructors;
+    private LargeNeighbourhoodSearch search;
+    private InstructorAssigner instructorAssigner;
+    private InstructorLoadBalancer loadBalancer;
+    private boolean twoPhase;
+    private boolean preassignInstructors;
+    private SolverBudget budget;
+    private int minSuggestionDistance;
+    private List<?>[] problemInputs;
 
     public AutoScheduler() {
-        conflictChecker = new ConflictChecker();
-        random = new Random();
+        this(new Random().nextLong());
     }
 
-    // Generate multiple timetable suggestions
+    public AutoScheduler(long seed) {
+        this(seed, Constants.SOLVER_THREADS);
+    }
+
+    public AutoScheduler(long seed, int threads) {
+        this.seed = seed;
+        this.threads = Math.max(1, threads);
+        feasibilityAnalyzer = new FeasibilityAnalyzer();
+        scorer = new TimetableScorer();
+        random = new Random(seed);
+        loadBalancer = new InstructorLoadBalancer();
+        instructorAssigner = new InstructorAssigner(loadBalancer);
+        twoPhase = Constants.TWO_PHASE_SCHEDULING;
+        preassignInstructors = Constants.PREASSIGN_INSTRUCTORS;
+        budget = SolverBudget.defaults();
+        minSuggestionDistance = -1;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Two-phase mode assigns slots first and rooms afterwards instead of drawing both together
+    public boolean isTwoPhase() {
+        return twoPhase;
+    }
+
+    public void setTwoPhase(boolean twoPhase) {
+        this.twoPhase = twoPhase;
+    }
+
+    // With pre-assignment every course is taught by one instructor chosen before the slot search
+    public boolean isPreassignInstructors() {
+        return preassignInstructors;
+    }
+
+    public void setPreassignInstructors(boolean preassignInstructors) {
+        this.preassignInstructors = preassignInstructors;
+        problemInputs = null;
+    }
+
+    // Limits applied to each generate call; results stay deterministic as long as no limit is hit
+    public SolverBudget getBudget() {
+        return budget;
+    }
+
+    public void setBudget(SolverBudget budget) {
+        this.budget = budget;
+    }
+
+    // Minimum number of sessions two suggestions must place in different slots;
+    // -1 means MIN_SUGGESTION_DISTANCE_PERCENT of the sessions, 0 turns the diversity check off
+    public int getMinSuggestionDistance() {
+        return minSuggestionDistance;
+    }
+
+    public void setMinSuggestionDistance(int minSuggestionDistance) {
+        this.minSuggestionDistance = minSuggestionDistance;
+    }
+
+    // Statistics accumulated over every batch this scheduler has produced so far
+    public SchedulerStatistics getStatistics() {
+        synchronized (statistics) {
+            return statistics.copy();
+        }
+    }
+
+    // Report produced by the pre-solve check of the last generateSuggestions call
+    public FeasibilityReport getLastFeasibilityReport() {
+        return lastFeasibilityReport;
+    }
+
+    // Generate multiple timetable suggestions, the best of numberOfSuggestions * CANDIDATES_PER_SUGGESTION candidates
     public List<Timetable> generateSuggestions(List<Course> courses, List<Instructor> instructors,
                                                List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
                                                int numberOfSuggestions) {
-        List<Timetable> suggestions = new ArrayList<>();
-
-        for (int i = 0; i < numberOfSuggestions; i++) {
-            Timetable suggestion = generateTimetable(
-                    "Suggestion " + (i + 1),
-                    courses,
-                    instructors,
-                    classrooms,
-                    availableTimeSlots
-            );
-
-            if (suggestion != null && !containsSimilarTimetable(suggestions, suggestion)) {
-                suggestions.add(suggestion);
-            } else {
-                // Try again if we couldn't generate a valid suggestion or it's too similar
-                i--;
-            }
-
-            // Prevent infinite loop if we can't generate enough unique suggestions
-            if (i < 0 && i < -10) {
+        return new ArrayList<>(generateSuggestionResult(courses, instructors, classrooms, availableTimeSlots,
+                numberOfSuggestions).getSuggestions());
+    }
+
+    // Same as generateSuggestions, together with the search statistics of the run
+    public SchedulerResult generateSuggestionResult(List<Course> courses, List<Instructor> instructors,
+                                                    List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
+                                                    int numberOfSuggestions) {
+        // Reject impossible inputs before spending any time on search
+        if (!checkFeasibility(courses, instructors, classrooms, availableTimeSlots).isFeasible()) {
+            return new SchedulerResult(new ArrayList<>(), new SchedulerStatistics());
+        }
+
+        return generateRankedResult(courses, instructors, classrooms, availableTimeSlots,
+                new ArrayList<>(), numberOfSuggestions,
+                numberOfSuggestions * Constants.CANDIDATES_PER_SUGGESTION);
+    }
+
+    // Run the pre-solve feasibility analysis and remember its report
+    public FeasibilityReport checkFeasibility(List<Course> courses, List<Instructor> instructors,
+                                              List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
+        lastFeasibilityReport = feasibilityAnalyzer.analyze(courses, instructors, classrooms, availableTimeSlots);
+        return lastFeasibilityReport;
+    }
+
+    // Explore candidate timetables and keep the k best by score in a bounded min-heap.
+    // Candidates closer than the minimum slot distance to an existing suggestion are dropped;
+    // among close candidates only the best is kept.
+    // Returns the kept suggestions, best first, named after their position following the existing ones.
+    public List<Timetable> generateRankedSuggestions(List<Course> courses, List<Instructor> instructors,
+                                                     List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
+                                                     List<Timetable> existing, int k, int candidates) {
+        return new ArrayList<>(generateRankedResult(courses, instructors, classrooms, availableTimeSlots,
+                existing, k, candidates).getSuggestions());
+    }
+
+    // Same as generateRankedSuggestions, together with the search statistics of this batch
+    public SchedulerResult generateRankedResult(List<Course> courses, List<Instructor> instructors,
+                                                List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
+                                                List<Timetable> existing, int k, int candidates) {
+        SchedulerStatistics batch = new SchedulerStatistics();
+        SolverBudget limits = budget;
+        long started = System.nanoTime();
+        long deadline = limits.deadline(started);
+        compile(courses, instructors, classrooms, availableTimeSlots);
+        batch.addPhaseNanos(SchedulerStatistics.Phase.COMPILE, System.nanoTime() - started);
+
+        // Batches are told apart by how many suggestions exist and how often that count was seen before
+        int attempt = batchAttempts.merge(existing.size(), 1, Integer::sum) - 1;
+        long batchSeed = deriveSeed(seed, existing.size(), attempt);
+        int minDistance = minSuggestionDistance >= 0 ? minSuggestionDistance :
+                (problem.sessionCount * Constants.MIN_SUGGESTION_DISTANCE_PERCENT + 99) / 100;
+        // Vectors are cached only for timetables that outlive a chunk: existing, kept and ranked suggestions
+        Map<Timetable, SlotVector> vectors = new IdentityHashMap<>();
+
+        // Existing and kept suggestions count against the memory ceiling; candidates are held a chunk at a time
+        long perCandidate = SolverBudget.estimateBytes(problem.sessionCount);
+        long existingBytes = SolverBudget.estimateBytes(existing);
+        int keep = k;
+        int chunk = limits.candidateChunk(existingBytes + keep * perCandidate, perCandidate);
+        while (chunk == 0 && keep > 0) {
+            keep--;
+            chunk = limits.candidateChunk(existingBytes + keep * perCandidate, perCandidate);
+        }
+        boolean truncated = keep < k;
+        if (chunk == 0 || keep == 0) {
+            return finish(new ArrayList<>(), existing, batch, true);
+        }
+
+        TopK<Timetable> best = new TopK<>(keep, Comparator.comparingDouble(Timetable::getScore));
+        for (int first = 0; first < candidates; first += chunk) {
+            // Past the deadline chunks keep coming only until there is something to return
+            if (System.nanoTime() > deadline && best.size() > 0) {
+                truncated = true;
                 break;
             }
+            started = System.nanoTime();
+            Timetable[] generated = constructCandidates(courses, instructors, classrooms, availableTimeSlots,
+                    first, Math.min(chunk, candidates - first), batchSeed, deadline, batch);
+            batch.addPhaseNanos(SchedulerStatistics.Phase.CONSTRUCT, System.nanoTime() - started);
+
+            started = System.nanoTime();
+            for (Timetable candidate : generated) {
+                if (candidate == null) {
+                    continue;
+                }
+                SlotVector vector = encode(candidate, minDistance);
+                if (containsSimilarTimetable(existing, vector, vectors, minDistance)) {
+                    continue;
+                }
+
+                candidate.setScore(scorer.score(candidate));
+                if (!best.wouldAccept(candidate)) {
+                    continue;
+                }
+
+                // Keep the retained set diverse
+                Timetable similar = findSimilarTimetable(best.toList(), vector, vectors, minDistance);
+                if (similar != null) {
+                    if (similar.getScore() >= candidate.getScore()) {
+                        continue;
+                    }
+                    best.remove(similar);
+                    vectors.remove(similar);
+                }
+                Timetable evicted = best.size() == keep ? best.peek() : null;
+                if (best.offer(candidate)) {
+                    if (vector != null) {
+                        vectors.put(candidate, vector);
+                    }
+                    if (evicted != null) {
+                        vectors.remove(evicted);
+                    }
+                }
+            }
+            batch.addPhaseNanos(SchedulerStatistics.Phase.DEDUPE, System.nanoTime() - started);
         }
 
-        return suggestions;
+        // Polish the kept suggestions with large neighbourhood search
+        List<Timetable> ranked = new ArrayList<>();
+        List<Timetable> kept = best.toSortedList();
+        search.setStatistics(batch);
+        for (int i = 0; i < kept.size(); i++) {
+            Timetable suggestion = kept.get(i);
+            if (System.nanoTime() > deadline) {
+                // Out of time: keep the remaining suggestions as constructed
+                truncated = true;
+                ranked.add(suggestion);
+                continue;
+            }
+            random.setSeed(deriveSeed(batchSeed, IMPROVE_STREAM, i));
+            started = System.nanoTime();
+            Timetable improved = improve(suggestion, courses, instructors, classrooms, availableTimeSlots, deadline);
+            long improvedAt = System.nanoTime();
+            batch.addPhaseNanos(SchedulerStatistics.Phase.IMPROVE, improvedAt - started);
+            if (improved != suggestion) {
+                SlotVector vector = encode(improved, minDistance);
+                if (containsSimilarTimetable(existing, vector, vectors, minDistance) ||
+                        containsSimilarTimetable(ranked, vector, vectors, minDistance)) {
+                    improved = suggestion;
+                } else if (vector != null) {
+                    vectors.remove(suggestion);
+                    vectors.put(improved, vector);
+                }
+            }
+            batch.addPhaseNanos(SchedulerStatistics.Phase.DEDUPE, System.nanoTime() - improvedAt);
+            ranked.add(improved);
+        }
+        if (System.nanoTime() > deadline) {
+            truncated = true;
+        }
+        return finish(ranked, existing, batch, truncated);
     }
 
-    // Generate a single timetable
+    // Name and rank a batch and add its statistics to the scheduler totals
+    private SchedulerResult finish(List<Timetable> ranked, List<Timetable> existing, SchedulerStatistics batch,
+                                   boolean truncated) {
+        ranked.sort(Comparator.comparingDouble(Timetable::getScore).reversed());
+        for (int i = 0; i < ranked.size(); i++) {
+            ranked.get(i).setName("Suggestion " + (existing.size() + i + 1));
+            ranked.get(i).setSeed(seed);
+        }
+        if (truncated) {
+            batch.recordBudgetStop();
+        }
+
+        synchronized (statistics) {
+            statistics.merge(batch);
+        }
+        return new SchedulerResult(ranked, batch, truncated);
+    }
+
+    // Build candidates first..first+candidates-1 of a batch, in parallel when there are several threads.
+    // Entry c is always built from deriveSeed(batchSeed, CONSTRUCT_STREAM, first + c), so the array does not
+    // depend on how candidates are spread over the workers. Apart from the first one, candidates not started
+    // by the deadline stay null.
+    private Timetable[] constructCandidates(List<Course> courses, List<Instructor> instructors,
+                                            List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
+                                            int first, int candidates, long batchSeed, long deadline,
+                                            SchedulerStatistics batch) {
+        Timetable[] generated = new Timetable[candidates];
+        int workers = Math.min(threads, candidates);
+
+        if (workers <= 1) {
+            CandidateBuilder builder = new CandidateBuilder();
+            for (int c = 0; c < candidates && (c == 0 || System.nanoTime() <= deadline); c++) {
+                generated[c] = builder.build(first + c, batchSeed, courses, instructors, classrooms, availableTimeSlots);
+            }
+            batch.merge(builder.statistics);
+            return generated;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "auto-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<SchedulerStatistics>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                final int worker = w;
+                futures.add(pool.submit(() -> {
+                    CandidateBuilder builder = new CandidateBuilder();
+                    for (int c = worker; c < candidates && (c == 0 || System.nanoTime() <= deadline); c += workers) {
+                        generated[c] = builder.build(first + c, batchSeed, courses, instructors, classrooms,
+                                availableTimeSlots);
+                    }
+                    return builder.statistics;
+                }));
+            }
+            for (Future<SchedulerStatistics> future : futures) {
+                batch.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Candidate construction failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return generated;
+    }
+
+    // Per-worker construction state; the compiled problems are shared read-only
+    private class CandidateBuilder {
+        private final Random random = new Random();
+        private final SchedulerStatistics statistics = new SchedulerStatistics();
+        private final TwoPhaseScheduler fixedScheduler = new TwoPhaseScheduler(problem, random);
+        private final TwoPhaseScheduler openScheduler =
+                problem == openProblem ? fixedScheduler : new TwoPhaseScheduler(openProblem, random);
+
+        CandidateBuilder() {
+            fixedScheduler.setStatistics(statistics);
+            openScheduler.setStatistics(statistics);
+        }
+
+        Timetable build(int index, long batchSeed, List<Course> courses, List<Instructor> instructors,
+                        List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
+            random.setSeed(deriveSeed(batchSeed, CONSTRUCT_STREAM, index));
+            Timetable candidate = generateTimetable("Candidate " + (index + 1), courses, instructors, classrooms,
+                    availableTimeSlots, random, fixedScheduler, openScheduler, statistics);
+            statistics.recordCandidate(candidate != null);
+            return candidate;
+        }
+    }
+
+    // SplitMix64 mix of a seed with a stream and an index
+    static long deriveSeed(long seed, long stream, long index) {
+        long z = seed + 0x9E3779B97F4A7C15L * (stream * 0x632BE59BD9B4E019L + index + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Improve a timetable with large neighbourhood search (until the deadline) and instructor load balancing;
+    // the original is returned if the score would drop
+    private Timetable improve(Timetable timetable, List<Course> courses, List<Instructor> instructors,
+                              List<Classroom> classrooms, List<TimeSlot> availableTimeSlots, long deadline) {
+        compile(courses, instructors, classrooms, availableTimeSlots);
+        Occupancy occupancy = Occupancy.fromTimetable(problem, timetable);
+        if (occupancy == null) {
+            return timetable;
+        }
+
+        search.improve(occupancy, Constants.LNS_ITERATIONS, deadline);
+        Timetable improved = occupancy.toTimetable(timetable.getName());
+        improved.setScore(scorer.score(improved));
+        if (improved.getScore() < timetable.getScore()) {
+            improved = timetable;
+        }
+
+        Timetable balanced = loadBalancer.rebalance(improved, instructors);
+        if (balanced != improved) {
+            balanced.setScore(scorer.score(balanced));
+            if (balanced.getScore() >= improved.getScore()) {
+                improved = balanced;
+            }
+        }
+        return improved;
+    }
+
+    // Compile the dense problem once per set of input lists
+    private void compile(List<Course> courses, List<Instructor> instructors,
+                         List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
+        List<?>[] inputs = {courses, instructors, classrooms, availableTimeSlots};
+        if (problemInputs != null && Arrays.equals(problemInputs, inputs)) {
+            return;
+        }
+        openProblem = new SchedulingProblem(courses, instructors, classrooms, availableTimeSlots);
+        problem = openProblem;
+        fixedInstructors = null;
+        if (preassignInstructors) {
+            fixedInstructors = instructorAssigner.assign(openProblem);
+            problem = openProblem.withFixedInstructors(fixedInstructors);
+        }
+        search = new LargeNeighbourhoodSearch(problem, random);
+        problemInputs = new List<?>[] {new ArrayList<>(courses), new ArrayList<>(instructors),
+                new ArrayList<>(classrooms), new ArrayList<>(availableTimeSlots)};
+    }
+
+    // Generate a single timetable using only the given random source and schedulers
     private Timetable generateTimetable(String name, List<Course> courses, List<Instructor> instructors,
-                                        List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
+                                        List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
+                                        Random random, TwoPhaseScheduler fixedScheduler,
+                                        TwoPhaseScheduler openScheduler, SchedulerStatistics stats) {
+        if (twoPhase) {
+            Occupancy occupancy = fixedScheduler.construct();
+            if (occupancy == null && openScheduler != fixedScheduler) {
+                // The fixed instructors may be too tight for the grid; let the slot search choose instead
+                stats.recordRestart();
+                occupancy = openScheduler.construct();
+            }
+            return occupancy == null ? null : occupancy.toTimetable(name);
+        }
+
         Timetable timetable = new Timetable(name);
         int maxAttempts = 1000; // Prevent infinite loops
 
@@ -73,17 +467,25 @@ public class AutoScheduler {
                 continue; // Skip course if no suitable instructor
             }
 
+            // Use the pre-assigned instructor when there is one
+            if (fixedInstructors != null) {
+                int index = openProblem.indexOfCourse(course);
+                if (index >= 0) {
+                    suitableInstructors = Collections.singletonList(openProblem.getInstructor(fixedInstructors[index]));
+                }
+            }
+
             // Schedule lectures
             boolean lecturesScheduled = scheduleSessionsForCourse(timetable, course, suitableInstructors,
                     classrooms, availableTimeSlots,
-                    lectureSlots, false, maxAttempts);
+                    lectureSlots, false, maxAttempts, random, stats);
 
             // Schedule lab if needed
             boolean labScheduled = true;
             if (labSlots > 0) {
                 labScheduled = scheduleSessionsForCourse(timetable, course, suitableInstructors,
                         classrooms, availableTimeSlots,
-                        labSlots, true, maxAttempts);
+                        labSlots, true, maxAttempts, random, stats);
             }
 
             // If we couldn't schedule all sessions, the timetable is invalid
@@ -98,7 +500,8 @@ public class AutoScheduler {
     // Schedule multiple sessions for a course
     private boolean scheduleSessionsForCourse(Timetable timetable, Course course, List<Instructor> instructors,
                                               List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
-                                              int sessionsNeeded, boolean isLab, int maxAttempts) {
+                                              int sessionsNeeded, boolean isLab, int maxAttempts, Random random,
+                                              SchedulerStatistics stats) {
         // Track the days we've already scheduled for this course to ensure day gaps
         Set<DayOfWeek> scheduledDays = new HashSet<>();
 
@@ -127,19 +530,20 @@ public class AutoScheduler {
                 List<TimeSlot> suitableTimeSlots = filterTimeSlots(availableTimeSlots, isLab, scheduledDays);
 
                 if (suitableTimeSlots.isEmpty()) {
+                    stats.recordConflict(SchedulerStatistics.Resource.COURSE);
                     continue; // No suitable time slots, try again
                 }
 
                 TimeSlot timeSlot = suitableTimeSlots.get(random.nextInt(suitableTimeSlots.size()));
-
-                // Check if this slot works
-                if (conflictChecker.isTimeSlotAvailable(course, instructor, classroom, timeSlot, timetable.getSchedules())) {
-                    CourseSchedule schedule = new CourseSchedule(course, instructor, classroom, timeSlot, isLab);
-
-                    if (timetable.addSchedule(schedule)) {
-                        slotFound = true;
-                        scheduledDays.add(timeSlot.getDay());
-                    }
+                stats.recordAttempt();
+
+                // Check if this slot works; the timetable's conflict index rejects clashing schedules
+                CourseSchedule schedule = new CourseSchedule(course, instructor, classroom, timeSlot, isLab);
+                if (timetable.addSchedule(schedule)) {
+                    slotFound = true;
+                    scheduledDays.add(timeSlot.getDay());
+                } else {
+                    stats.recordConflict(conflictResource(instructor, classroom, timeSlot, timetable.getSchedules()));
                 }
             }
 
@@ -151,6 +555,23 @@ public class AutoScheduler {
         return true;
     }
 
+    // The resource of the first existing schedule that clashes with the given placement
+    private SchedulerStatistics.Resource conflictResource(Instructor instructor, Classroom classroom,
+                                                          TimeSlot timeSlot, List<CourseSchedule> schedules) {
+        for (CourseSchedule existing : schedules) {
+            if (!existing.getTimeSlot().overlaps(timeSlot)) {
+                continue;
+            }
+            if (existing.getClassroom().equals(classroom)) {
+                return SchedulerStatistics.Resource.ROOM;
+            }
+            if (existing.getInstructor().equals(instructor)) {
+                return SchedulerStatistics.Resource.INSTRUCTOR;
+            }
+        }
+        return SchedulerStatistics.Resource.COURSE;
+    }
+
     // Filter time slots based on type and already scheduled days
     private List<TimeSlot> filterTimeSlots(List<TimeSlot> timeSlots, boolean isLab, Set<DayOfWeek> scheduledDays) {
         List<TimeSlot> filtered = new ArrayList<>();
@@ -200,39 +621,33 @@ public class AutoScheduler {
         return filtered;
     }
 
-    // Check if a similar timetable already exists in our suggestions
-    private boolean containsSimilarTimetable(List<Timetable> timetables, Timetable newTimetable) {
-        int similarityThreshold = 80; // Percentage of similar schedules to consider timetables similar
-
-        for (Timetable existing : timetables) {
-            if (calculateSimilarity(existing, newTimetable) > similarityThreshold) {
-                return true;
-            }
-        }
-
-        return false;
+    // Slot vector of a new timetable, held by the caller rather than cached so that rejected candidates
+    // can be collected; null when diversity is not checked
+    private SlotVector encode(Timetable timetable, int minDistance) {
+        return minDistance > 0 ? SlotVector.encode(problem, timetable) : null;
     }
 
-    // Calculate similarity between two timetables (percentage of identical schedules)
-    private double calculateSimilarity(Timetable timetable1, Timetable timetable2) {
-        List<CourseSchedule> schedules1 = timetable1.getSchedules();
-        List<CourseSchedule> schedules2 = timetable2.getSchedules();
+    // Check if a similar timetable already exists in our suggestions
+    private boolean containsSimilarTimetable(List<Timetable> timetables, SlotVector vector,
+                                             Map<Timetable, SlotVector> vectors, int minDistance) {
+        return findSimilarTimetable(timetables, vector, vectors, minDistance) != null;
+    }
 
-        if (schedules1.isEmpty() || schedules2.isEmpty()) {
-            return 0;
+    // Find a timetable with fewer than minDistance sessions in different slots from the new one, if any.
+    // Vectors of the timetables compared against are encoded once and kept in vectors; the caller drops
+    // them when a timetable leaves the batch.
+    private Timetable findSimilarTimetable(List<Timetable> timetables, SlotVector vector,
+                                           Map<Timetable, SlotVector> vectors, int minDistance) {
+        if (minDistance <= 0) {
+            return null;
         }
-
-        int matches = 0;
-
-        for (CourseSchedule s1 : schedules1) {
-            for (CourseSchedule s2 : schedules2) {
-                if (s1.equals(s2)) {
-                    matches++;
-                    break;
-                }
+        for (Timetable existing : timetables) {
+            SlotVector other = vectors.computeIfAbsent(existing, t -> SlotVector.encode(problem, t));
+            if (other.distance(vector, minDistance) < minDistance) {
+                return existing;
             }
         }
 
-        return (double) matches * 100 / Math.min(schedules1.size(), schedules2.size());
+        return null;
     }
 }
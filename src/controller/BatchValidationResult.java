@@ -0,0 +1,72 @@
+package controller;
+
+import java.util.Collections;
+import java.util.List;
+
+// Per-timetable reports of a batch validation, in input order, with the timing of the whole batch
+public class BatchValidationResult {
+    private final List<ValidationReport> reports;
+    private final long wallNanos;
+    private final int threads;
+
+    public BatchValidationResult(List<ValidationReport> reports, long wallNanos, int threads) {
+        this.reports = reports;
+        this.wallNanos = wallNanos;
+        this.threads = threads;
+    }
+
+    public List<ValidationReport> getReports() {
+        return Collections.unmodifiableList(reports);
+    }
+
+    // Elapsed time of the batch
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    // Time spent validating summed over all timetables; above the wall time when workers overlapped
+    public long getTotalValidationNanos() {
+        long total = 0;
+        for (ValidationReport report : reports) {
+            total += report.getElapsedNanos();
+        }
+        return total;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getInvalidCount() {
+        int invalid = 0;
+        for (ValidationReport report : reports) {
+            if (!report.isValid()) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    public int getTotalConflicts() {
+        int total = 0;
+        for (ValidationReport report : reports) {
+            total += report.getConflicts().size();
+        }
+        return total;
+    }
+
+    public int getTotalPolicyViolations() {
+        int total = 0;
+        for (ValidationReport report : reports) {
+            total += report.getPolicyViolations().size();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d timetables (%d invalid), %d conflicts, %d policy violations in %.1f ms on %d threads",
+                reports.size(), getInvalidCount(), getTotalConflicts(), getTotalPolicyViolations(),
+                wallNanos / 1_000_000.0, threads);
+    }
+}
@@ -0,0 +1,94 @@
+package controller;
+
+import model.Timetable;
+import model.TimetableDAO;
+import util.Constants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Validates many timetables at once on a worker pool.
+// Each timetable gets conflict detection and the BITS policy check in its own task with its own
+// ConflictChecker; saved timetables are also loaded inside their task, so file reads overlap as well.
+public class BatchValidator {
+    private final int threads;
+
+    public BatchValidator() {
+        this(Constants.SOLVER_THREADS);
+    }
+
+    public BatchValidator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    // Validate timetables already in memory; they are only read
+    public BatchValidationResult validate(List<Timetable> timetables) {
+        List<String> names = new ArrayList<>();
+        List<Callable<Timetable>> loaders = new ArrayList<>();
+        for (Timetable timetable : timetables) {
+            names.add(timetable.getName());
+            loaders.add(() -> timetable);
+        }
+        return run(names, loaders);
+    }
+
+    // Load and validate saved timetables by name; a file that cannot be read gets a failed report
+    public BatchValidationResult validateSaved(TimetableDAO timetableDAO, List<String> names) {
+        List<Callable<Timetable>> loaders = new ArrayList<>();
+        for (String name : names) {
+            loaders.add(() -> timetableDAO.loadTimetable(name));
+        }
+        return run(new ArrayList<>(names), loaders);
+    }
+
+    private BatchValidationResult run(List<String> names, List<Callable<Timetable>> loaders) {
+        long started = System.nanoTime();
+        int workers = Math.min(threads, Math.max(1, loaders.size()));
+        List<ValidationReport> reports = new ArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "batch-validator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<ValidationReport>> futures = new ArrayList<>();
+            for (int i = 0; i < loaders.size(); i++) {
+                String name = names.get(i);
+                Callable<Timetable> loader = loaders.get(i);
+                futures.add(pool.submit(() -> validateOne(name, loader)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    reports.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    reports.add(ValidationReport.failed(names.get(i), String.valueOf(e.getCause()), 0));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new BatchValidationResult(reports, System.nanoTime() - started, workers);
+    }
+
+    private ValidationReport validateOne(String name, Callable<Timetable> loader) throws Exception {
+        long started = System.nanoTime();
+        Timetable timetable = loader.call();
+        if (timetable == null) {
+            return ValidationReport.failed(name, "could not be loaded", System.nanoTime() - started);
+        }
+        ConflictChecker checker = new ConflictChecker();
+        return new ValidationReport(name, checker.detectConflicts(timetable),
+                checker.checkBITSPolicyCompliance(timetable), System.nanoTime() - started);
+    }
+}
@@ -0,0 +1,70 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import model.TimeSlot;
+import util.Constants;
+import util.TimeUtils;
+import java.util.Arrays;
+import java.util.List;
+
+// A classroom in use should be booked at least Constants.MIN_CLASSROOM_WEEKLY_HOURS hours a week,
+// spread over at least Constants.MIN_CLASSROOM_DAYS days
+public class ClassroomUtilizationRule implements PolicyRule {
+
+    @Override
+    public String getId() {
+        return "classroom-utilization";
+    }
+
+    @Override
+    public PolicyRule.Compiled compile(PolicyIndex index) {
+        return new Evaluation(index);
+    }
+
+    @Override
+    public boolean reportsHardViolations() {
+        return false; // Low utilization is only ever a soft violation
+    }
+
+    private static class Evaluation implements PolicyRule.Compiled {
+        private final PolicyIndex index;
+        private final int[] hours;    // by classroom
+        private final int[] dayMasks; // by classroom, 0 while unused
+
+        Evaluation(PolicyIndex index) {
+            this.index = index;
+            this.hours = new int[index.getClassroomCount()];
+            this.dayMasks = new int[index.getClassroomCount()];
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(hours, 0);
+            Arrays.fill(dayMasks, 0);
+        }
+
+        @Override
+        public void visit(CourseSchedule schedule, int course, int instructor, int classroom) {
+            TimeSlot slot = schedule.getTimeSlot();
+            hours[classroom] += TimeUtils.getDurationHours(slot.getStartTime(), slot.getEndTime());
+            dayMasks[classroom] |= TimeUtils.dayBit(slot.getDay());
+        }
+
+        @Override
+        public void finish(List<PolicyViolation> violations) {
+            for (int r = 0; r < hours.length; r++) {
+                if (dayMasks[r] == 0) {
+                    continue; // Not used by this timetable
+                }
+                if (hours[r] < Constants.MIN_CLASSROOM_WEEKLY_HOURS) {
+                    violations.add(PolicyViolation.classroomLowHours(index.getClassroom(r), hours[r]));
+                }
+                int days = Integer.bitCount(dayMasks[r]);
+                if (days < Constants.MIN_CLASSROOM_DAYS) {
+                    violations.add(PolicyViolation.classroomFewDays(index.getClassroom(r), days));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import model.Timetable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// The rules of a PolicyEngine compiled against one PolicyIndex. The rules hold per-evaluation state, so
+// evaluations are synchronized on the policy. All rules see the schedules in one shared pass; the pass goes
+// through the schedules a block at a time and lets every rule visit the whole block in turn, so each rule's
+// time is read off the clock once per block rather than once per schedule.
+public class CompiledPolicy {
+    private static final int TIMING_BLOCK = 64;
+
+    private final PolicyEngine engine;
+    private final PolicyIndex index;
+    private final List<String> ruleIds;
+    private final List<PolicyRule.Compiled> rules;
+    private final boolean[] reportsHard;
+    private long passes; // Visit passes so far, so a paused lazy evaluation can tell its state was reset
+
+    CompiledPolicy(PolicyEngine engine, PolicyIndex index, List<String> ruleIds, List<PolicyRule.Compiled> rules,
+                   boolean[] reportsHard) {
+        this.engine = engine;
+        this.index = index;
+        this.ruleIds = ruleIds;
+        this.rules = rules;
+        this.reportsHard = reportsHard;
+    }
+
+    public PolicyIndex getIndex() {
+        return index;
+    }
+
+    // Evaluate every rule and report all violations with the statistics of each rule
+    public synchronized PolicyReport evaluate(Timetable timetable) {
+        Evaluation evaluation = new Evaluation(timetable, false);
+        evaluation.pass(0);
+        List<PolicyViolation> violations = new ArrayList<>();
+        List<PolicyRuleStatistics> statistics = new ArrayList<>(rules.size());
+        for (int r = 0; r < rules.size(); r++) {
+            statistics.add(evaluation.finish(r, violations));
+        }
+
+        engine.record(statistics);
+        return new PolicyReport(violations, statistics);
+    }
+
+    // Violations rule by rule in engine order. Nothing runs until the first element is requested; the shared
+    // pass is then made once and each rule reports only when the stream reaches it, so callers that stop
+    // early (findFirst, anyMatch) skip the remaining rules. With hardRulesOnly, rules that can only report
+    // soft violations are left out of the pass.
+    public Stream<PolicyViolation> violations(Timetable timetable, boolean hardRulesOnly) {
+        Evaluation evaluation = new Evaluation(timetable, hardRulesOnly);
+        return IntStream.range(0, rules.size())
+                .filter(evaluation::includes)
+                .boxed()
+                .flatMap(r -> evaluation.finishLazily(r).stream());
+    }
+
+    // Whether any hard policy is broken, stopping after the first rule that reports one
+    public boolean hasHardViolation(Timetable timetable) {
+        return violations(timetable, true).anyMatch(PolicyViolation::isHard);
+    }
+
+    // One evaluation of one timetable
+    private class Evaluation {
+        private final Timetable timetable;
+        private final boolean hardRulesOnly;
+        private final long[] nanos = new long[rules.size()];
+        private long pass = -1;
+        private List<CourseSchedule> schedules;
+        private int[] courses;
+        private int[] instructors;
+        private int[] classrooms;
+
+        Evaluation(Timetable timetable, boolean hardRulesOnly) {
+            this.timetable = timetable;
+            this.hardRulesOnly = hardRulesOnly;
+        }
+
+        boolean includes(int r) {
+            return !hardRulesOnly || reportsHard[r];
+        }
+
+        // Report one rule on a stream; redo the pass for this and later rules if another evaluation of the
+        // policy ran since ours
+        List<PolicyViolation> finishLazily(int r) {
+            synchronized (CompiledPolicy.this) {
+                if (pass != passes) {
+                    pass(r);
+                }
+                List<PolicyViolation> violations = new ArrayList<>();
+                engine.record(Collections.singletonList(finish(r, violations)));
+                return violations;
+            }
+        }
+
+        // The shared pass of the included rules from the given one on
+        void pass(int fromRule) {
+            resolve();
+            List<Integer> active = new ArrayList<>();
+            for (int r = fromRule; r < rules.size(); r++) {
+                if (includes(r)) {
+                    active.add(r);
+                    nanos[r] = 0;
+                    rules.get(r).reset();
+                }
+            }
+
+            int n = schedules.size();
+            for (int from = 0; from < n; from += TIMING_BLOCK) {
+                int to = Math.min(n, from + TIMING_BLOCK);
+                for (int r : active) {
+                    PolicyRule.Compiled rule = rules.get(r);
+                    long started = System.nanoTime();
+                    for (int i = from; i < to; i++) {
+                        rule.visit(schedules.get(i), courses[i], instructors[i], classrooms[i]);
+                    }
+                    nanos[r] += System.nanoTime() - started;
+                }
+            }
+            pass = ++passes;
+        }
+
+        PolicyRuleStatistics finish(int r, List<PolicyViolation> violations) {
+            int before = violations.size();
+            long started = System.nanoTime();
+            rules.get(r).finish(violations);
+            nanos[r] += System.nanoTime() - started;
+
+            PolicyRuleStatistics statistics = new PolicyRuleStatistics(ruleIds.get(r));
+            statistics.record(nanos[r], violations.size() - before);
+            return statistics;
+        }
+
+        // Entity ids of every schedule, looked up once per evaluation
+        private void resolve() {
+            if (schedules != null) {
+                return;
+            }
+            schedules = timetable.getSchedules();
+            int n = schedules.size();
+            courses = new int[n];
+            instructors = new int[n];
+            classrooms = new int[n];
+            for (int i = 0; i < n; i++) {
+                CourseSchedule schedule = schedules.get(i);
+                courses[i] = index.indexOfCourse(schedule.getCourse());
+                instructors[i] = index.indexOfInstructor(schedule.getInstructor());
+                classrooms[i] = index.indexOfClassroom(schedule.getClassroom());
+                if (courses[i] < 0 || instructors[i] < 0 || classrooms[i] < 0) {
+                    throw new IllegalArgumentException("Schedule " + schedule + " uses an entity the policy was not compiled for");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package controller;
+
+import model.*;
+import java.util.*;
+
+// Finds all conflicting schedule pairs of a timetable in O(n log n + k) instead of testing every pair.
+// Schedules are bucketed by day and by classroom, instructor and course. Each bucket is swept in start-time
+// order with the schedules still running kept in a min-heap by end time, so a schedule is only compared with
+// the ones it actually overlaps. A pair sharing several resources is reported once, under the first resource
+// ConflictChecker.conflictExists tests (classroom, then instructor, then course), and the result is ordered
+// like the pairwise scan it replaces.
+public class ConflictDetector {
+
+    public List<Conflict> detectConflicts(Timetable timetable) {
+        return detectConflicts(timetable.getSchedules());
+    }
+
+    public List<Conflict> detectConflicts(List<CourseSchedule> schedules) {
+        int n = schedules.size();
+        int[] start = new int[n];
+        int[] end = new int[n];
+        for (int i = 0; i < n; i++) {
+            TimeSlot slot = schedules.get(i).getTimeSlot();
+            start[i] = slot.getStartMinute();
+            end[i] = slot.getEndMinute();
+        }
+
+        List<long[]> pairs = new ArrayList<>(); // {first index, second index, type ordinal}
+        for (ConflictType type : ConflictType.values()) {
+            for (List<Integer> bucket : buckets(schedules, type).values()) {
+                if (bucket.size() > 1) {
+                    sweep(schedules, bucket, start, end, type, pairs);
+                }
+            }
+        }
+
+        pairs.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        List<Conflict> conflicts = new ArrayList<>(pairs.size());
+        for (long[] pair : pairs) {
+            conflicts.add(new Conflict(ConflictType.values()[(int) pair[2]],
+                    schedules.get((int) pair[0]), schedules.get((int) pair[1])));
+        }
+        return conflicts;
+    }
+
+    // Schedule indices grouped by day and by the resource of the given type
+    private Map<Map.Entry<Object, Object>, List<Integer>> buckets(List<CourseSchedule> schedules, ConflictType type) {
+        Map<Map.Entry<Object, Object>, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < schedules.size(); i++) {
+            CourseSchedule schedule = schedules.get(i);
+            Object resource = resourceOf(schedule, type);
+            if (resource == null) {
+                continue;
+            }
+            buckets.computeIfAbsent(new AbstractMap.SimpleImmutableEntry<>(schedule.getTimeSlot().getDay(), resource),
+                    key -> new ArrayList<>()).add(i);
+        }
+        return buckets;
+    }
+
+    private void sweep(List<CourseSchedule> schedules, List<Integer> bucket, int[] start, int[] end,
+                       ConflictType type, List<long[]> pairs) {
+        bucket.sort((a, b) -> start[a] != start[b] ? Integer.compare(start[a], start[b]) : Integer.compare(a, b));
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingInt(i -> end[i]));
+
+        for (int current : bucket) {
+            // A schedule that ended before this one starts cannot overlap it or any later one
+            while (!active.isEmpty() && end[active.peek()] < start[current]) {
+                active.poll();
+            }
+            CourseSchedule schedule = schedules.get(current);
+            for (int other : active) {
+                CourseSchedule earlier = schedules.get(other);
+                if (earlier.getTimeSlot().overlaps(schedule.getTimeSlot()) && !reportedEarlier(earlier, schedule, type)) {
+                    pairs.add(new long[] {Math.min(current, other), Math.max(current, other), type.ordinal()});
+                }
+            }
+            active.add(current);
+        }
+    }
+
+    // Whether the pair also shares a resource of a type that is swept before this one
+    private boolean reportedEarlier(CourseSchedule a, CourseSchedule b, ConflictType type) {
+        for (ConflictType earlier : ConflictType.values()) {
+            if (earlier == type) {
+                return false;
+            }
+            Object resource = resourceOf(a, earlier);
+            if (resource != null && resource.equals(resourceOf(b, earlier))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object resourceOf(CourseSchedule schedule, ConflictType type) {
+        switch (type) {
+            case CLASSROOM:
+                return schedule.getClassroom();
+            case INSTRUCTOR:
+                return schedule.getInstructor();
+            default:
+                return schedule.getCourse();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package controller;
+
+import model.Conflict;
+import model.CourseSchedule;
+import model.Timetable;
+import java.util.Collections;
+import java.util.List;
+
+// One way to resolve a conflict: schedules to take out of the timetable and the ones that replace them.
+// The cost is what ConflictRepairEngine ranks by, lower is better: the disruption of moving sessions around
+// plus the change in placement and policy penalties it causes (negative if the repair improves them).
+public class ConflictRepair {
+
+    public enum Kind {
+        CHANGE_ROOM("Change room"),
+        MOVE("Move"),
+        SWAP("Swap");
+
+        private final String displayName;
+
+        Kind(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final Kind kind;
+    private final List<CourseSchedule> removed;
+    private final List<CourseSchedule> added;
+    private final double disruption;
+    private final double policyImpact;
+
+    ConflictRepair(Kind kind, List<CourseSchedule> removed, List<CourseSchedule> added,
+                   double disruption, double policyImpact) {
+        this.kind = kind;
+        this.removed = removed;
+        this.added = added;
+        this.disruption = disruption;
+        this.policyImpact = policyImpact;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public List<CourseSchedule> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    public List<CourseSchedule> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    public double getDisruption() {
+        return disruption;
+    }
+
+    public double getPolicyImpact() {
+        return policyImpact;
+    }
+
+    public double getCost() {
+        return disruption + policyImpact;
+    }
+
+    // Whether the replacements still fit once the removed schedules are gone
+    public boolean isApplicable(Timetable timetable) {
+        for (CourseSchedule schedule : removed) {
+            if (!timetable.getSchedules().contains(schedule)) {
+                return false;
+            }
+        }
+        for (CourseSchedule schedule : added) {
+            for (Conflict conflict : timetable.getBlockingConflicts(schedule)) {
+                if (!removed.contains(conflict.getFirst())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Replace the removed schedules with the added ones; leaves the timetable unchanged if the repair
+    // no longer applies because the timetable was edited since it was suggested
+    public boolean apply(Timetable timetable) {
+        if (!isApplicable(timetable)) {
+            return false;
+        }
+        for (CourseSchedule schedule : removed) {
+            timetable.removeSchedule(schedule);
+        }
+        for (CourseSchedule schedule : added) {
+            timetable.addSchedule(schedule);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(kind.getDisplayName()).append(": ");
+        for (int i = 0; i < added.size(); i++) {
+            CourseSchedule from = removed.get(i);
+            CourseSchedule to = added.get(i);
+            if (i > 0) {
+                sb.append("; ");
+            }
+            sb.append(from.getCourse().getCourseCode()).append(" to ");
+            if (!to.getTimeSlot().equals(from.getTimeSlot())) {
+                sb.append(to.getTimeSlot().getDay()).append(" ").append(to.getTimeSlot().getStartTime())
+                        .append("-").append(to.getTimeSlot().getEndTime());
+                if (!to.getClassroom().equals(from.getClassroom())) {
+                    sb.append(" in ");
+                }
+            }
+            if (!to.getClassroom().equals(from.getClassroom())) {
+                sb.append(to.getClassroom().getRoomNumber());
+            }
+        }
+        return sb.append(String.format(" (cost %.1f)", getCost())).toString();
+    }
+}
@@ -0,0 +1,263 @@
+package controller;
+
+import model.*;
+import util.Constants;
+import util.TimeUtils;
+import util.TopK;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.*;
+
+// Suggests the cheapest ways to resolve one conflict: give one of the two sessions another room, move it to
+// another time (and room if need be), or swap its time with a session of the same length elsewhere.
+// For each session being repaired, one pass over the timetable builds WeekGrid busy masks of every classroom
+// and of its instructor and course, leaving the session itself out, so room changes and moves are checked
+// with a few ANDs. Swaps are pre-filtered the same way and confirmed with range lookups in the conflict
+// index, but only when they would make the top k. Costs are evaluated incrementally: the placement penalty
+// of the moved sessions before and after, and the adjacent-day pairs of their courses from per-day counts.
+public class ConflictRepairEngine {
+    private static final double ROOM_CHANGE_COST = 1.0;
+    private static final double SEAT_DIFFERENCE_COST = 0.01;
+    private static final double MOVE_COST = 2.0;
+    private static final double DAY_CHANGE_COST = 1.0;
+    private static final double HOUR_SHIFT_COST = 0.25;
+    private static final double DAY_GAP_COST = 10.0;
+
+    private static final Comparator<ConflictRepair> CHEAPER = Comparator.comparingDouble(ConflictRepair::getCost)
+            .thenComparing(ConflictRepair::getKind)
+            .thenComparingInt(r -> r.getAdded().get(0).getTimeSlot().getStartMinute())
+            .thenComparing(r -> r.getAdded().get(0).getClassroom().getRoomNumber());
+
+    private final int maxRepairs;
+    private final TimetableScorer scorer = new TimetableScorer();
+
+    public ConflictRepairEngine() {
+        this(Constants.REPAIR_SUGGESTIONS);
+    }
+
+    public ConflictRepairEngine(int maxRepairs) {
+        this.maxRepairs = maxRepairs;
+    }
+
+    // The cheapest repairs of the conflict, cheapest first
+    public List<ConflictRepair> suggest(Timetable timetable, Conflict conflict, List<Classroom> classrooms) {
+        TopK<ConflictRepair> best = new TopK<>(maxRepairs, CHEAPER.reversed());
+        Map<Course, int[]> dayCounts = dayCounts(timetable);
+        suggestFor(timetable, conflict.getFirst(), classrooms, dayCounts, best);
+        suggestFor(timetable, conflict.getSecond(), classrooms, dayCounts, best);
+        return best.toSortedList();
+    }
+
+    private void suggestFor(Timetable timetable, CourseSchedule target, List<Classroom> classrooms,
+                            Map<Course, int[]> dayCounts, TopK<ConflictRepair> best) {
+        TimeSlot slot = target.getTimeSlot();
+        if (!slot.isComplete()) {
+            return;
+        }
+
+        // Busy hours of every room, and of the instructor and course of the target, without the target
+        Map<Classroom, Long> roomBusy = new HashMap<>();
+        long sessionBusy = 0;
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            if (schedule == target) {
+                continue;
+            }
+            long cells = WeekGrid.cellsOf(schedule.getTimeSlot());
+            if (cells == 0) {
+                continue;
+            }
+            roomBusy.merge(schedule.getClassroom(), cells, (a, b) -> a | b);
+            if (schedule.getInstructor().equals(target.getInstructor())
+                    || schedule.getCourse().equals(target.getCourse())) {
+                sessionBusy |= cells;
+            }
+        }
+
+        double oldPenalty = scorer.placementPenalty(target.getCourse(), target.getInstructor(), slot);
+        List<CourseSchedule> removed = Collections.singletonList(target);
+        int demand = target.isLab() ? target.getCourse().getCredits() * 5 : 0;
+
+        // Another room at the same time; only helps if the instructor and course are free then
+        long ownCells = WeekGrid.cellsOf(slot);
+        if (ownCells == 0 || (sessionBusy & ownCells) == 0) {
+            for (Classroom classroom : classrooms) {
+                if (classroom.equals(target.getClassroom()) || classroom.getCapacity() < demand) {
+                    continue;
+                }
+                offer(best, new ConflictRepair(ConflictRepair.Kind.CHANGE_ROOM, removed,
+                        Collections.singletonList(withPlacement(target, classroom, slot)),
+                        roomChangeCost(target.getClassroom(), classroom), 0), timetable);
+            }
+        }
+
+        // Another time, in the same room or any other suitable one
+        int duration = (slot.getDurationMinutes() + 59) / 60;
+        if (duration > WeekGrid.HOURS) {
+            return;
+        }
+        long starts = WeekGrid.windowFree(~sessionBusy, duration) & WeekGrid.validStarts(duration);
+        if (starts == 0) {
+            return;
+        }
+        TimeSlot[] slots = new TimeSlot[WeekGrid.CELLS];
+        double[] slotImpact = new double[WeekGrid.CELLS];
+        for (long open = starts; open != 0; open &= open - 1) {
+            int cell = Long.numberOfTrailingZeros(open);
+            LocalTime start = WeekGrid.startOf(cell);
+            slots[cell] = TimeSlotRegistry.intern(WeekGrid.dayOf(cell), start,
+                    start.plusMinutes(slot.getDurationMinutes()), slot.isLabSlot());
+            if (slots[cell].getStartMinute() == slot.getStartMinute()) {
+                starts &= ~(1L << cell); // Same time: that is a room change
+                continue;
+            }
+            slotImpact[cell] = scorer.placementPenalty(target.getCourse(), target.getInstructor(), slots[cell])
+                    - oldPenalty + dayGapImpact(dayCounts, target, slots[cell], null, null);
+        }
+        for (Classroom classroom : classrooms) {
+            if (classroom.getCapacity() < demand && !classroom.equals(target.getClassroom())) {
+                continue;
+            }
+            double roomCost = roomChangeCost(target.getClassroom(), classroom);
+            long free = WeekGrid.windowFree(~roomBusy.getOrDefault(classroom, 0L), duration) & starts;
+            for (; free != 0; free &= free - 1) {
+                int cell = Long.numberOfTrailingZeros(free);
+                offer(best, new ConflictRepair(ConflictRepair.Kind.MOVE, removed,
+                        Collections.singletonList(withPlacement(target, classroom, slots[cell])),
+                        roomCost + moveCost(slot, slots[cell]), slotImpact[cell]), null);
+            }
+        }
+
+        // Trade times with a session of the same length; the room mask of the target stands in for its room
+        long targetBusy = sessionBusy | roomBusy.getOrDefault(target.getClassroom(), 0L);
+        for (CourseSchedule other : timetable.getSchedules()) {
+            TimeSlot otherSlot = other.getTimeSlot();
+            if (other == target || !otherSlot.isComplete()
+                    || otherSlot.getDurationMinutes() != slot.getDurationMinutes() || otherSlot.overlaps(slot)) {
+                continue;
+            }
+            long otherCells = WeekGrid.cellsOf(otherSlot);
+            if (otherCells != 0 && (targetBusy & otherCells & ~ownCellsOf(other, target, otherCells)) != 0) {
+                continue;
+            }
+            TimeSlot targetTo = TimeSlotRegistry.intern(otherSlot.getDay(), otherSlot.getStartTime(),
+                    otherSlot.getEndTime(), slot.isLabSlot());
+            TimeSlot otherTo = TimeSlotRegistry.intern(slot.getDay(), slot.getStartTime(),
+                    slot.getEndTime(), otherSlot.isLabSlot());
+            double disruption = moveCost(slot, targetTo) + moveCost(otherSlot, otherTo);
+            double impact = scorer.placementPenalty(target.getCourse(), target.getInstructor(), targetTo) - oldPenalty
+                    + scorer.placementPenalty(other.getCourse(), other.getInstructor(), otherTo)
+                    - scorer.placementPenalty(other.getCourse(), other.getInstructor(), otherSlot)
+                    + dayGapImpact(dayCounts, target, targetTo, other, otherTo);
+            offer(best, new ConflictRepair(ConflictRepair.Kind.SWAP, Arrays.asList(target, other),
+                    Arrays.asList(withPlacement(target, target.getClassroom(), targetTo),
+                            withPlacement(other, other.getClassroom(), otherTo)), disruption, impact), timetable);
+        }
+    }
+
+    // Hours of the other session that count towards the target's masks only because of the other session
+    // itself; they are freed by the swap. Other sessions on the same hours are still caught by the exact check.
+    private static long ownCellsOf(CourseSchedule other, CourseSchedule target, long otherCells) {
+        boolean shares = other.getClassroom().equals(target.getClassroom())
+                || other.getInstructor().equals(target.getInstructor())
+                || other.getCourse().equals(target.getCourse());
+        return shares ? otherCells : 0;
+    }
+
+    // Candidates are confirmed against the conflict index only when they would be kept.
+    // Moves come straight from the masks and need no check, so they are offered without a timetable.
+    private void offer(TopK<ConflictRepair> best, ConflictRepair repair, Timetable timetable) {
+        if (!best.wouldAccept(repair)) {
+            return;
+        }
+        if (timetable != null) {
+            List<CourseSchedule> added = repair.getAdded();
+            for (CourseSchedule schedule : added) {
+                if (!fits(timetable, schedule, repair.getRemoved())) {
+                    return;
+                }
+            }
+            if (added.size() == 2 && added.get(0).conflictsWith(added.get(1))) {
+                return;
+            }
+        }
+        best.offer(repair);
+    }
+
+    private static boolean fits(Timetable timetable, CourseSchedule schedule, List<CourseSchedule> ignored) {
+        for (Conflict conflict : timetable.getBlockingConflicts(schedule)) {
+            if (!ignored.contains(conflict.getFirst())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CourseSchedule withPlacement(CourseSchedule schedule, Classroom classroom, TimeSlot slot) {
+        return new CourseSchedule(schedule.getCourse(), schedule.getInstructor(), classroom, slot, schedule.isLab());
+    }
+
+    private static double roomChangeCost(Classroom from, Classroom to) {
+        if (from.equals(to)) {
+            return 0;
+        }
+        return ROOM_CHANGE_COST + SEAT_DIFFERENCE_COST * Math.abs(from.getCapacity() - to.getCapacity());
+    }
+
+    private static double moveCost(TimeSlot from, TimeSlot to) {
+        double cost = MOVE_COST + HOUR_SHIFT_COST * Math.abs(
+                from.getStartTime().getHour() - to.getStartTime().getHour());
+        return from.getDay() == to.getDay() ? cost : cost + DAY_CHANGE_COST;
+    }
+
+    // Sessions per course, day and type: index day - 1 for lectures, 7 + day - 1 for labs
+    private static Map<Course, int[]> dayCounts(Timetable timetable) {
+        Map<Course, int[]> counts = new HashMap<>();
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            counts.computeIfAbsent(schedule.getCourse(), c -> new int[14])[countIndex(schedule.isLab(),
+                    schedule.getTimeSlot().getDay())]++;
+        }
+        return counts;
+    }
+
+    private static int countIndex(boolean lab, DayOfWeek day) {
+        return (lab ? 7 : 0) + day.getValue() - 1;
+    }
+
+    // Change in the day-gap cost when the first session moves to firstTo and, for swaps, second to secondTo
+    private static double dayGapImpact(Map<Course, int[]> dayCounts, CourseSchedule first, TimeSlot firstTo,
+                                       CourseSchedule second, TimeSlot secondTo) {
+        Map<Course, int[]> changed = new HashMap<>(4);
+        move(dayCounts, changed, first, firstTo);
+        if (second != null) {
+            move(dayCounts, changed, second, secondTo);
+        }
+
+        int delta = 0;
+        for (Map.Entry<Course, int[]> entry : changed.entrySet()) {
+            int[] before = dayCounts.get(entry.getKey());
+            int[] after = entry.getValue();
+            for (int type = 0; type < 2; type++) {
+                delta += Integer.bitCount(TimeUtils.adjacentDayPairs(mask(after, type * 7)))
+                        - Integer.bitCount(TimeUtils.adjacentDayPairs(mask(before, type * 7)));
+            }
+        }
+        return DAY_GAP_COST * delta;
+    }
+
+    private static void move(Map<Course, int[]> dayCounts, Map<Course, int[]> changed,
+                             CourseSchedule schedule, TimeSlot to) {
+        int[] counts = changed.computeIfAbsent(schedule.getCourse(), c -> dayCounts.get(c).clone());
+        counts[countIndex(schedule.isLab(), schedule.getTimeSlot().getDay())]--;
+        counts[countIndex(schedule.isLab(), to.getDay())]++;
+    }
+
+    private static int mask(int[] counts, int offset) {
+        int mask = 0;
+        for (int day = 0; day < 7; day++) {
+            if (counts[offset + day] > 0) {
+                mask |= 1 << day;
+            }
+        }
+        return mask;
+    }
+}
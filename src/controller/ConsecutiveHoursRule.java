@@ -0,0 +1,84 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import util.Constants;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+// An instructor must not teach longer than Constants.MAX_CONSECUTIVE_HOURS without a break. Sessions that
+// touch or overlap form one run; the longest run of each instructor and day is checked.
+public class ConsecutiveHoursRule implements PolicyRule {
+
+    @Override
+    public String getId() {
+        return "consecutive-hours";
+    }
+
+    @Override
+    public PolicyRule.Compiled compile(PolicyIndex index) {
+        return new Evaluation(index);
+    }
+
+    private static class Evaluation implements PolicyRule.Compiled {
+        private final PolicyIndex index;
+        private final long[][] sessions; // by instructor * 7 + day, packed start and end minutes
+        private final int[] counts;
+
+        Evaluation(PolicyIndex index) {
+            this.index = index;
+            this.sessions = new long[index.getInstructorCount() * 7][];
+            this.counts = new int[sessions.length];
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(counts, 0);
+        }
+
+        @Override
+        public void visit(CourseSchedule schedule, int course, int instructor, int classroom) {
+            int bucket = instructor * 7 + schedule.getTimeSlot().getDay().getValue() - 1;
+            long[] packed = sessions[bucket];
+            if (packed == null) {
+                packed = sessions[bucket] = new long[4];
+            } else if (counts[bucket] == packed.length) {
+                packed = sessions[bucket] = Arrays.copyOf(packed, packed.length * 2);
+            }
+            packed[counts[bucket]++] = schedule.getTimeSlot().getPackedMinutes();
+        }
+
+        @Override
+        public void finish(List<PolicyViolation> violations) {
+            int limit = Constants.MAX_CONSECUTIVE_HOURS * 60;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                int count = counts[bucket];
+                if (count == 0) {
+                    continue;
+                }
+                long[] packed = sessions[bucket];
+                Arrays.sort(packed, 0, count); // By start, then end
+
+                int longest = 0;
+                int runStart = (int) (packed[0] >>> 32);
+                int runEnd = (int) packed[0];
+                for (int k = 1; k < count; k++) {
+                    int start = (int) (packed[k] >>> 32);
+                    int end = (int) packed[k];
+                    if (start > runEnd) {
+                        longest = Math.max(longest, runEnd - runStart);
+                        runStart = start;
+                    }
+                    runEnd = Math.max(runEnd, end);
+                }
+                longest = Math.max(longest, runEnd - runStart);
+
+                if (longest > limit) {
+                    violations.add(PolicyViolation.consecutiveHours(index.getInstructor(bucket / 7),
+                            DayOfWeek.of(bucket % 7 + 1), (longest + 59) / 60));
+                }
+            }
+        }
+    }
+}
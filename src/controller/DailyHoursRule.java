@@ -0,0 +1,55 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import model.TimeSlot;
+import util.Constants;
+import util.TimeUtils;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+// An instructor must not teach more than Constants.MAX_DAILY_HOURS hours on any day
+public class DailyHoursRule implements PolicyRule {
+
+    @Override
+    public String getId() {
+        return "daily-hours";
+    }
+
+    @Override
+    public PolicyRule.Compiled compile(PolicyIndex index) {
+        return new Evaluation(index);
+    }
+
+    private static class Evaluation implements PolicyRule.Compiled {
+        private final PolicyIndex index;
+        private final int[] hours; // by instructor * 7 + day
+
+        Evaluation(PolicyIndex index) {
+            this.index = index;
+            this.hours = new int[index.getInstructorCount() * 7];
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(hours, 0);
+        }
+
+        @Override
+        public void visit(CourseSchedule schedule, int course, int instructor, int classroom) {
+            TimeSlot slot = schedule.getTimeSlot();
+            hours[instructor * 7 + slot.getDay().getValue() - 1] +=
+                    TimeUtils.getDurationHours(slot.getStartTime(), slot.getEndTime());
+        }
+
+        @Override
+        public void finish(List<PolicyViolation> violations) {
+            for (int i = 0; i < hours.length; i++) {
+                if (hours[i] > Constants.MAX_DAILY_HOURS) {
+                    violations.add(PolicyViolation.dailyHours(index.getInstructor(i / 7), DayOfWeek.of(i % 7 + 1), hours[i]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import model.TimeSlot;
+import util.TimeUtils;
+import java.util.Arrays;
+import java.util.List;
+
+// The lectures of a course, and separately its labs, must not fall on adjacent days (Friday and Monday included).
+// Each course keeps a day mask per session type; the adjacent pairs come out of a few bit operations.
+public class DayGapRule implements PolicyRule {
+
+    @Override
+    public String getId() {
+        return "day-gap";
+    }
+
+    @Override
+    public PolicyRule.Compiled compile(PolicyIndex index) {
+        return new Evaluation(index);
+    }
+
+    private static class Evaluation implements PolicyRule.Compiled {
+        private static final int DAYS = 7;
+
+        private final PolicyIndex index;
+        private final int[] dayMasks;       // by course * 2 + (lab ? 1 : 0)
+        private final TimeSlot[] firstSlot; // by (course * 2 + lab) * DAYS + day, the first session seen that day
+
+        Evaluation(PolicyIndex index) {
+            this.index = index;
+            this.dayMasks = new int[index.getCourseCount() * 2];
+            this.firstSlot = new TimeSlot[dayMasks.length * DAYS];
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(dayMasks, 0);
+            Arrays.fill(firstSlot, null);
+        }
+
+        @Override
+        public void visit(CourseSchedule schedule, int course, int instructor, int classroom) {
+            TimeSlot slot = schedule.getTimeSlot();
+            int day = slot.getDay().getValue() - 1;
+            int key = course * 2 + (schedule.isLab() ? 1 : 0);
+            int bit = TimeUtils.dayBit(slot.getDay());
+            if ((dayMasks[key] & bit) == 0) {
+                dayMasks[key] |= bit;
+                firstSlot[key * DAYS + day] = slot;
+            }
+        }
+
+        @Override
+        public void finish(List<PolicyViolation> violations) {
+            for (int key = 0; key < dayMasks.length; key++) {
+                int pairs = TimeUtils.adjacentDayPairs(dayMasks[key]);
+                while (pairs != 0) {
+                    int pair = Integer.numberOfTrailingZeros(pairs);
+                    TimeSlot first = firstSlot[key * DAYS + TimeUtils.pairFirstDay(pair).getValue() - 1];
+                    TimeSlot second = firstSlot[key * DAYS + TimeUtils.pairSecondDay(pair).getValue() - 1];
+                    violations.add(PolicyViolation.dayGap(index.getCourse(key / 2), key % 2 == 1, first, second));
+                    pairs &= pairs - 1;
+                }
+            }
+        }
+    }
+}
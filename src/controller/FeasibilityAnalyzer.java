@@ -0,0 +1,325 @@
+package controller;
+
+import model.*;
+import util.FlowNetwork;
+import util.TimeUtils;
+import java.time.DayOfWeek;
+import java.util.*;
+
+// Pre-solve analysis that rejects inputs the scheduler can never satisfy.
+// Uses counting bounds per course and max-flow (Hall's condition) over instructors and rooms,
+// mirroring the session model used by AutoScheduler.
+public class FeasibilityAnalyzer {
+    private static final long UNBOUNDED = Long.MAX_VALUE / 4;
+
+    public FeasibilityReport analyze(List<Course> courses, List<Instructor> instructors,
+                                     List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
+        long startTime = System.nanoTime();
+        FeasibilityReport report = new FeasibilityReport();
+
+        List<TimeSlot> lectureSlots = new ArrayList<>();
+        List<TimeSlot> labSlots = new ArrayList<>();
+        for (TimeSlot slot : availableTimeSlots) {
+            if (slot.isLabSlot()) {
+                labSlots.add(slot);
+            } else {
+                lectureSlots.add(slot);
+            }
+        }
+
+        // Only courses with at least one eligible instructor are scheduled at all
+        List<Course> schedulable = new ArrayList<>();
+        Map<Course, List<Instructor>> eligible = new HashMap<>();
+        for (Course course : courses) {
+            List<Instructor> suitable = new ArrayList<>();
+            for (Instructor instructor : instructors) {
+                if (instructor.canTeach(course.getCourseCode())) {
+                    suitable.add(instructor);
+                }
+            }
+            if (suitable.isEmpty()) {
+                report.addWarning(course.getCourseCode() + " has no eligible instructor and will be skipped");
+            } else {
+                schedulable.add(course);
+                eligible.put(course, suitable);
+            }
+        }
+
+        if (!schedulable.isEmpty() && classrooms.isEmpty()) {
+            report.addReason("No classrooms are available");
+        }
+
+        checkCourseBounds(schedulable, lectureSlots, labSlots, report);
+
+        if (report.isFeasible()) {
+            int lectureMinutes = shortestDuration(lectureSlots);
+            int labMinutes = shortestDuration(labSlots);
+            int gridMinutes = gridMinutes(availableTimeSlots);
+
+            checkInstructorCapacity(schedulable, eligible, lectureMinutes, labMinutes, gridMinutes, report);
+            checkRoomCapacity(schedulable, classrooms, lectureMinutes, labMinutes, gridMinutes, report);
+        }
+
+        report.setElapsedNanos(System.nanoTime() - startTime);
+        return report;
+    }
+
+    // Each course must fit its sessions on pairwise non-adjacent days without self-overlap
+    private void checkCourseBounds(List<Course> courses, List<TimeSlot> lectureSlots, List<TimeSlot> labSlots,
+                                   FeasibilityReport report) {
+        int lectureCapacity = maxSessionsWithDayGap(lectureSlots);
+        int labCapacity = maxSessionsWithDayGap(labSlots);
+
+        for (Course course : courses) {
+            int lectures = lectureSessions(course);
+            int labs = labSessions(course);
+
+            if (lectures > lectureCapacity) {
+                report.addReason(course.getCourseCode() + " needs " + lectures +
+                        " lecture sessions but at most " + lectureCapacity +
+                        " fit on non-adjacent days");
+            }
+
+            if (labs > labCapacity) {
+                report.addReason(course.getCourseCode() + " needs a lab session but no lab slots are available");
+            }
+        }
+    }
+
+    // Hall's condition between courses and their eligible instructors, in teaching minutes
+    private void checkInstructorCapacity(List<Course> courses, Map<Course, List<Instructor>> eligible,
+                                         int lectureMinutes, int labMinutes, int gridMinutes,
+                                         FeasibilityReport report) {
+        Map<Instructor, Integer> instructorIndex = new LinkedHashMap<>();
+        for (Course course : courses) {
+            for (Instructor instructor : eligible.get(course)) {
+                instructorIndex.putIfAbsent(instructor, instructorIndex.size());
+            }
+        }
+
+        int source = 0;
+        int sink = 1;
+        int courseBase = 2;
+        int instructorBase = courseBase + courses.size();
+        FlowNetwork network = new FlowNetwork(instructorBase + instructorIndex.size());
+
+        long demand = 0;
+        long[] courseDemand = new long[courses.size()];
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            courseDemand[i] = (long) lectureSessions(course) * lectureMinutes + (long) labSessions(course) * labMinutes;
+            demand += courseDemand[i];
+            network.addEdge(source, courseBase + i, courseDemand[i]);
+            for (Instructor instructor : eligible.get(course)) {
+                network.addEdge(courseBase + i, instructorBase + instructorIndex.get(instructor), UNBOUNDED);
+            }
+        }
+        for (int j = 0; j < instructorIndex.size(); j++) {
+            network.addEdge(instructorBase + j, sink, gridMinutes);
+        }
+
+        if (network.maxFlow(source, sink) >= demand) {
+            return;
+        }
+
+        // The source side of the minimum cut is a set of courses violating Hall's condition
+        boolean[] reachable = network.residualReachable(source);
+        List<String> courseCodes = new ArrayList<>();
+        long deficitDemand = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            if (reachable[courseBase + i]) {
+                courseCodes.add(courses.get(i).getCourseCode());
+                deficitDemand += courseDemand[i];
+            }
+        }
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<Instructor, Integer> entry : instructorIndex.entrySet()) {
+            if (reachable[instructorBase + entry.getValue()]) {
+                names.add(entry.getKey().getName());
+            }
+        }
+
+        report.addReason("Courses " + courseCodes + " need " + formatHours(deficitDemand) +
+                " teaching hours but their eligible instructors " + names + " can cover at most " +
+                formatHours((long) names.size() * gridMinutes) + " hours");
+    }
+
+    // Hall's condition between lecture/lab demand and classrooms, in room minutes
+    private void checkRoomCapacity(List<Course> courses, List<Classroom> classrooms,
+                                   int lectureMinutes, int labMinutes, int gridMinutes,
+                                   FeasibilityReport report) {
+        if (classrooms.isEmpty()) {
+            return;
+        }
+
+        int source = 0;
+        int sink = 1;
+        int lectureNode = 2;
+        int labBase = 3;
+        int roomBase = labBase + courses.size();
+        FlowNetwork network = new FlowNetwork(roomBase + classrooms.size());
+
+        long lectureDemand = 0;
+        for (Course course : courses) {
+            lectureDemand += (long) lectureSessions(course) * lectureMinutes;
+        }
+        network.addEdge(source, lectureNode, lectureDemand);
+        for (int r = 0; r < classrooms.size(); r++) {
+            network.addEdge(lectureNode, roomBase + r, UNBOUNDED);
+            network.addEdge(roomBase + r, sink, gridMinutes);
+        }
+
+        long demand = lectureDemand;
+        for (int i = 0; i < courses.size(); i++) {
+            Course course = courses.get(i);
+            if (labSessions(course) == 0) {
+                continue;
+            }
+            long labDemand = (long) labSessions(course) * labMinutes;
+            demand += labDemand;
+            network.addEdge(source, labBase + i, labDemand);
+            for (int r : labRoomIndexes(course, classrooms)) {
+                network.addEdge(labBase + i, roomBase + r, UNBOUNDED);
+            }
+        }
+
+        if (network.maxFlow(source, sink) >= demand) {
+            return;
+        }
+
+        boolean[] reachable = network.residualReachable(source);
+        List<String> labCourses = new ArrayList<>();
+        for (int i = 0; i < courses.size(); i++) {
+            if (reachable[labBase + i]) {
+                labCourses.add(courses.get(i).getCourseCode());
+            }
+        }
+        List<String> rooms = new ArrayList<>();
+        for (int r = 0; r < classrooms.size(); r++) {
+            if (reachable[roomBase + r]) {
+                rooms.add(classrooms.get(r).getRoomNumber());
+            }
+        }
+
+        if (reachable[lectureNode]) {
+            report.addReason("Total lecture and lab demand exceeds the capacity of all " +
+                    classrooms.size() + " classrooms (" + formatHours((long) classrooms.size() * gridMinutes) +
+                    " room hours)");
+        } else {
+            report.addReason("Lab sessions of " + labCourses + " need more hours than the lab-capable rooms " +
+                    rooms + " offer (" + formatHours((long) rooms.size() * gridMinutes) + " room hours)");
+        }
+    }
+
+    // Rooms a lab of this course may use, with the same capacity rule and fallback as AutoScheduler
+    private List<Integer> labRoomIndexes(Course course, List<Classroom> classrooms) {
+        List<Integer> indexes = new ArrayList<>();
+        int minCapacity = course.getCredits() * 5;
+        for (int r = 0; r < classrooms.size(); r++) {
+            if (classrooms.get(r).getCapacity() >= minCapacity) {
+                indexes.add(r);
+            }
+        }
+        if (indexes.isEmpty()) {
+            for (int r = 0; r < classrooms.size(); r++) {
+                indexes.add(r);
+            }
+        }
+        return indexes;
+    }
+
+    // Maximum number of non-overlapping slots on a set of pairwise non-adjacent days
+    private int maxSessionsWithDayGap(List<TimeSlot> slots) {
+        Map<DayOfWeek, List<TimeSlot>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (TimeSlot slot : slots) {
+            byDay.computeIfAbsent(slot.getDay(), d -> new ArrayList<>()).add(slot);
+        }
+
+        DayOfWeek[] days = byDay.keySet().toArray(new DayOfWeek[0]);
+        int[] perDay = new int[days.length];
+        for (int d = 0; d < days.length; d++) {
+            perDay[d] = maxDisjoint(byDay.get(days[d]));
+        }
+
+        int best = 0;
+        for (int mask = 1; mask < (1 << days.length); mask++) {
+            int total = 0;
+            int dayMask = 0;
+            for (int a = 0; a < days.length; a++) {
+                if ((mask & (1 << a)) == 0) continue;
+                total += perDay[a];
+                dayMask |= TimeUtils.dayBit(days[a]);
+            }
+            if (TimeUtils.adjacentDayPairs(dayMask) == 0) {
+                best = Math.max(best, total);
+            }
+        }
+        return best;
+    }
+
+    // Interval scheduling: earliest end first
+    private int maxDisjoint(List<TimeSlot> slots) {
+        List<TimeSlot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparing(TimeSlot::getEndTime));
+        int count = 0;
+        TimeSlot last = null;
+        for (TimeSlot slot : sorted) {
+            if (last == null || !slot.overlaps(last)) {
+                count++;
+                last = slot;
+            }
+        }
+        return count;
+    }
+
+    // Total minutes per week covered by at least one slot
+    private int gridMinutes(List<TimeSlot> slots) {
+        Map<DayOfWeek, List<TimeSlot>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (TimeSlot slot : slots) {
+            byDay.computeIfAbsent(slot.getDay(), d -> new ArrayList<>()).add(slot);
+        }
+
+        int total = 0;
+        for (List<TimeSlot> daySlots : byDay.values()) {
+            daySlots.sort(Comparator.comparingInt(TimeSlot::getStartMinute));
+            int start = -1;
+            int end = -1;
+            for (TimeSlot slot : daySlots) {
+                int s = slot.getStartMinute();
+                int e = slot.getEndMinute();
+                if (s > end) {
+                    total += end - start;
+                    start = s;
+                    end = e;
+                } else {
+                    end = Math.max(end, e);
+                }
+            }
+            total += end - start;
+        }
+        return total;
+    }
+
+    private int shortestDuration(List<TimeSlot> slots) {
+        int shortest = 0;
+        for (TimeSlot slot : slots) {
+            int minutes = TimeUtils.getDurationMinutes(slot.getStartTime(), slot.getEndTime());
+            if (shortest == 0 || minutes < shortest) {
+                shortest = minutes;
+            }
+        }
+        return shortest;
+    }
+
+    private int lectureSessions(Course course) {
+        return course.getLectureHours();
+    }
+
+    private int labSessions(Course course) {
+        return course.getLabHours() > 0 ? 1 : 0;
+    }
+
+    private String formatHours(long minutes) {
+        return minutes % 60 == 0 ? String.valueOf(minutes / 60) : String.format("%.1f", minutes / 60.0);
+    }
+}
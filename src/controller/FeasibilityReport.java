@@ -0,0 +1,55 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of the pre-solve feasibility analysis
+public class FeasibilityReport {
+    private final List<String> reasons;
+    private final List<String> warnings;
+    private long elapsedNanos;
+
+    public FeasibilityReport() {
+        reasons = new ArrayList<>();
+        warnings = new ArrayList<>();
+    }
+
+    // Record a condition that makes the input impossible to schedule
+    public void addReason(String reason) {
+        reasons.add(reason);
+    }
+
+    // Record a condition that does not block scheduling but will affect the result
+    public void addWarning(String warning) {
+        warnings.add(warning);
+    }
+
+    public boolean isFeasible() {
+        return reasons.isEmpty();
+    }
+
+    public List<String> getReasons() {
+        return Collections.unmodifiableList(reasons);
+    }
+
+    public List<String> getWarnings() {
+        return Collections.unmodifiableList(warnings);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (isFeasible()) {
+            return "Feasible (" + warnings.size() + " warnings)";
+        }
+        return "Infeasible: " + String.join("; ", reasons);
+    }
+}
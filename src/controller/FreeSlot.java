@@ -0,0 +1,34 @@
+package controller;
+
+import model.Classroom;
+import model.TimeSlot;
+
+// One (room, slot) pair a FreeSlotFinder found free, with the penalty it was ranked by (lower is better)
+public class FreeSlot {
+    private final Classroom classroom;
+    private final TimeSlot timeSlot;
+    private final double penalty;
+
+    FreeSlot(Classroom classroom, TimeSlot timeSlot, double penalty) {
+        this.classroom = classroom;
+        this.timeSlot = timeSlot;
+        this.penalty = penalty;
+    }
+
+    public Classroom getClassroom() {
+        return classroom;
+    }
+
+    public TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public double getPenalty() {
+        return penalty;
+    }
+
+    @Override
+    public String toString() {
+        return timeSlot + " in " + classroom.getRoomNumber();
+    }
+}
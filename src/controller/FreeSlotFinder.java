@@ -0,0 +1,79 @@
+package controller;
+
+import model.*;
+import util.TopK;
+import java.util.*;
+
+// Answers "where can this session still go?" over the whole timetable. One pass over the schedules builds a
+// WeekGrid busy mask per classroom, plus the masks of the course and the instructor. For every room that
+// passes the capacity and facility filters, the free starts are then a handful of ANDs on one long, so the
+// cost is linear in the schedules plus the rooms and stays interactive on timetables of thousands of sessions.
+// Results are ranked by the scorer's penalty for adding the session at that time, which only depends on the
+// start and is computed once per start, then by the seats left over in the room.
+public class FreeSlotFinder {
+    private final TimetableScorer scorer = new TimetableScorer();
+
+    public List<FreeSlot> find(Timetable timetable, List<Classroom> classrooms, FreeSlotQuery query) {
+        Course course = query.getCourse();
+        Instructor instructor = query.getInstructor();
+
+        Map<Classroom, Long> roomBusy = new HashMap<>();
+        long sessionBusy = 0; // Hours the course or the instructor is already taken
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            long cells = WeekGrid.cellsOf(schedule.getTimeSlot());
+            if (cells == 0) {
+                continue;
+            }
+            roomBusy.merge(schedule.getClassroom(), cells, (a, b) -> a | b);
+            if (schedule.getCourse().equals(course)
+                    || (instructor != null && schedule.getInstructor().equals(instructor))) {
+                sessionBusy |= cells;
+            }
+        }
+
+        int duration = WeekGrid.clampDuration(query.getDurationHours());
+        long starts = WeekGrid.windowFree(~sessionBusy, duration) & WeekGrid.validStarts(duration);
+        if (starts == 0) {
+            return new ArrayList<>();
+        }
+
+        // The slot penalty does not depend on the room
+        TimeSlot[] slots = new TimeSlot[WeekGrid.CELLS];
+        double[] slotPenalty = new double[WeekGrid.CELLS];
+        for (long open = starts; open != 0; open &= open - 1) {
+            int cell = Long.numberOfTrailingZeros(open);
+            slots[cell] = WeekGrid.slotAt(cell, duration, query.isLab());
+            slotPenalty[cell] = scorer.additionPenalty(timetable, course, instructor, slots[cell], query.isLab());
+        }
+
+        Comparator<FreeSlot> better = Comparator.comparingDouble(FreeSlot::getPenalty)
+                .thenComparingInt(s -> s.getClassroom().getCapacity())
+                .thenComparing(s -> s.getClassroom().getRoomNumber())
+                .thenComparingInt(s -> s.getTimeSlot().getStartMinute());
+        int limit = query.getLimit();
+        TopK<FreeSlot> best = limit > 0 ? new TopK<>(limit, better.reversed()) : null;
+        List<FreeSlot> all = limit > 0 ? null : new ArrayList<>();
+
+        for (Classroom classroom : classrooms) {
+            if (!query.accepts(classroom)) {
+                continue;
+            }
+            long free = WeekGrid.windowFree(~roomBusy.getOrDefault(classroom, 0L), duration) & starts;
+            for (; free != 0; free &= free - 1) {
+                int cell = Long.numberOfTrailingZeros(free);
+                FreeSlot slot = new FreeSlot(classroom, slots[cell], slotPenalty[cell]);
+                if (best != null) {
+                    best.offer(slot);
+                } else {
+                    all.add(slot);
+                }
+            }
+        }
+
+        if (best != null) {
+            return best.toSortedList();
+        }
+        all.sort(better);
+        return all;
+    }
+}
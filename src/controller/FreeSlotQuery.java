@@ -0,0 +1,118 @@
+package controller;
+
+import model.Classroom;
+import model.Course;
+import model.Instructor;
+import util.Constants;
+import java.util.ArrayList;
+import java.util.List;
+
+// What a free-slot search is looking for: one extra session of a course, optionally taught by a given
+// instructor, in a room that is big enough and has the facilities asked for. Built fluently, e.g.
+// new FreeSlotQuery(course, 2).lab(true).minCapacity(60).requireProjector()
+public class FreeSlotQuery {
+    private final Course course;
+    private final int durationHours;
+    private Instructor instructor;
+    private boolean lab;
+    private int minCapacity;
+    private boolean projector;
+    private boolean ac;
+    private final List<String> facilities = new ArrayList<>();
+    private int limit = Constants.FREE_SLOT_RESULTS;
+
+    public FreeSlotQuery(Course course, int durationHours) {
+        this.course = course;
+        this.durationHours = durationHours;
+    }
+
+    // Only slots where this instructor is free too; without one, instructors are not considered
+    public FreeSlotQuery instructor(Instructor instructor) {
+        this.instructor = instructor;
+        return this;
+    }
+
+    public FreeSlotQuery lab(boolean lab) {
+        this.lab = lab;
+        return this;
+    }
+
+    public FreeSlotQuery minCapacity(int minCapacity) {
+        this.minCapacity = minCapacity;
+        return this;
+    }
+
+    public FreeSlotQuery requireProjector() {
+        this.projector = true;
+        return this;
+    }
+
+    public FreeSlotQuery requireAC() {
+        this.ac = true;
+        return this;
+    }
+
+    // Matched against the additional facilities of a room, ignoring case
+    public FreeSlotQuery requireFacility(String facility) {
+        facilities.add(facility.trim());
+        return this;
+    }
+
+    // Maximum number of results, 0 for all of them
+    public FreeSlotQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public int getDurationHours() {
+        return durationHours;
+    }
+
+    public Instructor getInstructor() {
+        return instructor;
+    }
+
+    public boolean isLab() {
+        return lab;
+    }
+
+    public int getMinCapacity() {
+        return minCapacity;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    // Whether the room is big enough and has every facility asked for
+    public boolean accepts(Classroom classroom) {
+        if (classroom.getCapacity() < minCapacity
+                || (projector && !classroom.hasProjector())
+                || (ac && !classroom.hasAC())) {
+            return false;
+        }
+        for (String facility : facilities) {
+            if (!hasFacility(classroom, facility)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasFacility(Classroom classroom, String facility) {
+        String[] available = classroom.getAdditionalFacilities();
+        if (available == null) {
+            return false;
+        }
+        for (String candidate : available) {
+            if (candidate != null && candidate.trim().equalsIgnoreCase(facility)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -19,11 +19,8 @@ public class ImportExportController {
 
             // Sort schedules by day and time for easier reading
             List<CourseSchedule> sortedSchedules = new ArrayList<>(timetable.getSchedules());
-            sortedSchedules.sort((s1, s2) -> {
-                int dayCompare = s1.getTimeSlot().getDay().compareTo(s2.getTimeSlot().getDay());
-                if (dayCompare != 0) return dayCompare;
-                return s1.getTimeSlot().getStartTime().compareTo(s2.getTimeSlot().getStartTime());
-            });
+            sortedSchedules.sort((s1, s2) ->
+                    Integer.compare(s1.getTimeSlot().getStartMinute(), s2.getTimeSlot().getStartMinute()));
 
             // Write schedule data
             for (CourseSchedule schedule : sortedSchedules) {
@@ -90,7 +87,7 @@ public class ImportExportController {
                 }
 
                 // Create timeslot and schedule
-                TimeSlot timeSlot = new TimeSlot(day, startTime, endTime, isLab);
+                TimeSlot timeSlot = TimeSlotRegistry.intern(day, startTime, endTime, isLab);
                 CourseSchedule schedule = new CourseSchedule(course, instructor, classroom, timeSlot, isLab);
 
                 // Add to timetable
@@ -0,0 +1,103 @@
+package controller;
+
+import util.Constants;
+import java.util.Arrays;
+
+// Pre-assigns one instructor to every course before slots are searched.
+// InstructorLoadBalancer routes each course's weekly hours to eligible instructors with a convex load
+// cost, preferring instructors whose preferred times agree with the course's. The fractional flow is then
+// rounded so that every course gets a single instructor, largest courses first, keeping within
+// MAX_INSTRUCTOR_WEEKLY_HOURS whenever some eligible instructor still has room.
+public class InstructorAssigner {
+    private static final int MISMATCH_COST = 10;
+
+    private final InstructorLoadBalancer balancer;
+    private int overloadedCourses;
+
+    public InstructorAssigner() {
+        this(new InstructorLoadBalancer());
+    }
+
+    public InstructorAssigner(InstructorLoadBalancer balancer) {
+        this.balancer = balancer;
+    }
+
+    // Instructor index (into the problem) for every course of the problem
+    public int[] assign(SchedulingProblem problem) {
+        int courseCount = problem.courses.length;
+        int instructorCount = problem.instructors.length;
+        int[] hours = new int[courseCount];
+        long[][] affinity = new long[courseCount][];
+        for (int c = 0; c < courseCount; c++) {
+            hours[c] = Math.max(1, problem.courses[c].getLectureHours() + problem.courses[c].getLabHours());
+            int[] eligible = problem.courseInstructors[c];
+            affinity[c] = new long[eligible.length];
+            for (int k = 0; k < eligible.length; k++) {
+                affinity[c][k] = preferenceMismatch(problem, c, eligible[k]);
+            }
+        }
+
+        long[][] flow = balancer.distribute(hours, problem.courseInstructors, affinity, instructorCount);
+
+        // Round: largest courses first, each to the instructor carrying most of its flow that still has room
+        Integer[] order = new Integer[courseCount];
+        for (int c = 0; c < courseCount; c++) order[c] = c;
+        Arrays.sort(order, (a, b) -> Integer.compare(hours[b], hours[a]));
+
+        int[] remaining = new int[instructorCount];
+        Arrays.fill(remaining, Constants.MAX_INSTRUCTOR_WEEKLY_HOURS);
+        int[] assignment = new int[courseCount];
+        overloadedCourses = 0;
+
+        for (int c : order) {
+            int[] eligible = problem.courseInstructors[c];
+            int best = -1;
+            long bestFlow = -1;
+            int fallback = eligible[0];
+            for (int k = 0; k < eligible.length; k++) {
+                int instructor = eligible[k];
+                if (remaining[instructor] >= hours[c] && (flow[c][k] > bestFlow ||
+                        (flow[c][k] == bestFlow && remaining[instructor] > remaining[best]))) {
+                    best = instructor;
+                    bestFlow = flow[c][k];
+                }
+                if (remaining[instructor] > remaining[fallback]) {
+                    fallback = instructor;
+                }
+            }
+            if (best < 0) {
+                best = fallback;
+                overloadedCourses++;
+            }
+            assignment[c] = best;
+            remaining[best] -= hours[c];
+        }
+
+        return assignment;
+    }
+
+    // Number of courses in the last assignment that had to exceed an instructor's weekly cap
+    public int getOverloadedCourses() {
+        return overloadedCourses;
+    }
+
+    // Per-hour cost from the share of the course's cheapest slots that the instructor would rather not teach in
+    private long preferenceMismatch(SchedulingProblem problem, int course, int instructor) {
+        int slotCount = problem.slots.length;
+        double cheapest = Double.MAX_VALUE;
+        for (int t = 0; t < slotCount; t++) {
+            cheapest = Math.min(cheapest, problem.courseSlotCost[course * slotCount + t]);
+        }
+        int acceptable = 0;
+        int mismatched = 0;
+        for (int t = 0; t < slotCount; t++) {
+            if (problem.courseSlotCost[course * slotCount + t] <= cheapest) {
+                acceptable++;
+                if (problem.instructorSlotCost[instructor * slotCount + t] > 0) {
+                    mismatched++;
+                }
+            }
+        }
+        return acceptable == 0 ? 0 : (long) mismatched * MISMATCH_COST / acceptable;
+    }
+}
@@ -0,0 +1,237 @@
+package controller;
+
+import model.*;
+import util.Constants;
+import util.FlowNetwork;
+import util.TimeUtils;
+import java.util.*;
+
+// Spreads teaching hours across eligible instructors.
+// Hours flow from courses to instructors in a min-cost flow whose instructor-to-sink arcs model a convex
+// cost: one parallel arc per hour with a rising marginal cost (quadratic in the load), plus a much steeper
+// rise past MAX_INSTRUCTOR_WEEKLY_HOURS. Successive shortest paths solve it exactly in polynomial time in
+// the number of hours, so thousands of instructors are fine.
+// The fractional hours are rounded to one instructor per course. This runs either before slot assignment
+// (see InstructorAssigner) or after it, where a course may only move to an instructor who is free at all
+// of its sessions.
+public class InstructorLoadBalancer {
+    private static final long BALANCE_WEIGHT = 1;
+    private static final long OVERLOAD_WEIGHT = 50;
+    private static final long INFINITE_HOURS = Integer.MAX_VALUE;
+
+    // Hours of each course sent to each of its eligible instructors, flow[c][k] for eligible[c][k].
+    // affinity[c][k] is an extra cost per hour (may be null).
+    public long[][] distribute(int[] courseHours, int[][] eligible, long[][] affinity, int instructorCount) {
+        int courseCount = courseHours.length;
+        int source = 0;
+        int sink = 1 + courseCount + instructorCount;
+        FlowNetwork network = new FlowNetwork(sink + 1);
+
+        int[][] edges = new int[courseCount][];
+        long demand = 0;
+        for (int c = 0; c < courseCount; c++) {
+            network.addEdge(source, 1 + c, courseHours[c]);
+            demand += courseHours[c];
+            edges[c] = new int[eligible[c].length];
+            for (int k = 0; k < eligible[c].length; k++) {
+                long cost = affinity == null ? 0 : affinity[c][k];
+                edges[c][k] = network.addEdge(1 + c, 1 + courseCount + eligible[c][k], courseHours[c], cost);
+            }
+        }
+
+        // Only as many unit arcs as an instructor could ever receive
+        long[] reachable = new long[instructorCount];
+        for (int c = 0; c < courseCount; c++) {
+            for (int instructor : eligible[c]) reachable[instructor] += courseHours[c];
+        }
+        int unitArcs = Constants.MAX_INSTRUCTOR_WEEKLY_HOURS * 2;
+        for (int i = 0; i < instructorCount; i++) {
+            int node = 1 + courseCount + i;
+            int arcs = (int) Math.min(unitArcs, reachable[i]);
+            for (int hour = 1; hour <= arcs; hour++) {
+                network.addEdge(node, sink, 1, marginalCost(hour));
+            }
+            if (reachable[i] > unitArcs) {
+                network.addEdge(node, sink, INFINITE_HOURS, marginalCost(unitArcs + 1));
+            }
+        }
+
+        network.minCostFlow(source, sink, demand);
+
+        long[][] flow = new long[courseCount][];
+        for (int c = 0; c < courseCount; c++) {
+            flow[c] = new long[eligible[c].length];
+            for (int k = 0; k < eligible[c].length; k++) {
+                flow[c][k] = network.getFlow(edges[c][k]);
+            }
+        }
+        return flow;
+    }
+
+    // After slot assignment: move whole courses between eligible instructors to even out the load.
+    // Slots and rooms stay; a course only moves to an instructor free at all of its sessions.
+    // A course whose sessions are split between several instructors is left as it is, but its sessions
+    // still count toward those instructors' load and busy times.
+    // The original timetable is returned when no conflict-free balanced assignment is found.
+    public Timetable rebalance(Timetable timetable, List<Instructor> instructors) {
+        Map<Course, List<CourseSchedule>> sessionsByCourse = new LinkedHashMap<>();
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            sessionsByCourse.computeIfAbsent(schedule.getCourse(), c -> new ArrayList<>()).add(schedule);
+        }
+        Map<Instructor, Integer> instructorIndex = new HashMap<>();
+        for (int i = 0; i < instructors.size(); i++) instructorIndex.put(instructors.get(i), i);
+
+        List<Course> courses = new ArrayList<>();
+        List<List<TimeSlot>> busy = new ArrayList<>();
+        for (int i = 0; i < instructors.size(); i++) busy.add(new ArrayList<>());
+        int[] fixedLoad = new int[instructors.size()];
+        for (Map.Entry<Course, List<CourseSchedule>> entry : sessionsByCourse.entrySet()) {
+            Map<Integer, Integer> minutesByInstructor = new LinkedHashMap<>();
+            for (CourseSchedule schedule : entry.getValue()) {
+                Integer instructor = instructorIndex.get(schedule.getInstructor());
+                if (instructor == null) {
+                    return timetable; // Taught by someone outside the given list
+                }
+                minutesByInstructor.merge(instructor, minutesOf(schedule), Integer::sum);
+            }
+            if (minutesByInstructor.size() == 1) {
+                courses.add(entry.getKey());
+                continue;
+            }
+            for (CourseSchedule schedule : entry.getValue()) {
+                busy.get(instructorIndex.get(schedule.getInstructor())).add(schedule.getTimeSlot());
+            }
+            minutesByInstructor.forEach((instructor, minutes) -> fixedLoad[instructor] += hoursOf(minutes));
+        }
+
+        int courseCount = courses.size();
+        int[] hours = new int[courseCount];
+        int[][] eligible = new int[courseCount][];
+        int[] original = new int[courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            Course course = courses.get(c);
+            int minutes = 0;
+            for (CourseSchedule schedule : sessionsByCourse.get(course)) {
+                minutes += minutesOf(schedule);
+            }
+            hours[c] = hoursOf(minutes);
+
+            int current = instructorIndex.get(sessionsByCourse.get(course).get(0).getInstructor());
+            original[c] = current;
+            List<Integer> suitable = new ArrayList<>();
+            for (int i = 0; i < instructors.size(); i++) {
+                if (i == current || instructors.get(i).canTeach(course.getCourseCode())) {
+                    suitable.add(i);
+                }
+            }
+            eligible[c] = suitable.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        long[][] flow = distribute(hours, eligible, null, instructors.size());
+
+        // Round largest courses first, checking time clashes against what is already assigned
+        Integer[] order = new Integer[courseCount];
+        for (int c = 0; c < courseCount; c++) order[c] = c;
+        Arrays.sort(order, (a, b) -> Integer.compare(hours[b], hours[a]));
+        int[] load = fixedLoad.clone();
+        int[] assignment = new int[courseCount];
+
+        for (int c : order) {
+            List<TimeSlot> courseSlots = new ArrayList<>();
+            for (CourseSchedule schedule : sessionsByCourse.get(courses.get(c))) {
+                courseSlots.add(schedule.getTimeSlot());
+            }
+
+            // Within the weekly cap first, then most flow, then the lighter load, then the current instructor
+            Integer[] candidates = new Integer[eligible[c].length];
+            for (int k = 0; k < candidates.length; k++) candidates[k] = k;
+            final int course = c;
+            Arrays.sort(candidates, (a, b) -> {
+                int byCap = Boolean.compare(load[eligible[course][b]] + hours[course] <= Constants.MAX_INSTRUCTOR_WEEKLY_HOURS,
+                        load[eligible[course][a]] + hours[course] <= Constants.MAX_INSTRUCTOR_WEEKLY_HOURS);
+                if (byCap != 0) return byCap;
+                int byFlow = Long.compare(flow[course][b], flow[course][a]);
+                if (byFlow != 0) return byFlow;
+                int byLoad = Integer.compare(load[eligible[course][a]], load[eligible[course][b]]);
+                if (byLoad != 0) return byLoad;
+                return Boolean.compare(eligible[course][b] == original[course], eligible[course][a] == original[course]);
+            });
+
+            int chosen = -1;
+            for (int k : candidates) {
+                int instructor = eligible[c][k];
+                if (isFree(busy.get(instructor), courseSlots)) {
+                    chosen = instructor;
+                    break;
+                }
+            }
+            if (chosen < 0) {
+                return timetable;
+            }
+            assignment[c] = chosen;
+            load[chosen] += hours[c];
+            busy.get(chosen).addAll(courseSlots);
+        }
+
+        // Only accept a strictly cheaper load profile
+        int[] originalLoad = fixedLoad.clone();
+        for (int c = 0; c < courseCount; c++) originalLoad[original[c]] += hours[c];
+        if (loadCost(load) >= loadCost(originalLoad)) {
+            return timetable;
+        }
+
+        Map<Course, Instructor> reassigned = new HashMap<>();
+        for (int c = 0; c < courseCount; c++) reassigned.put(courses.get(c), instructors.get(assignment[c]));
+        Timetable balanced = new Timetable(timetable.getName());
+        List<CourseSchedule> schedules = new ArrayList<>();
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            Instructor instructor = reassigned.getOrDefault(schedule.getCourse(), schedule.getInstructor());
+            schedules.add(new CourseSchedule(schedule.getCourse(), instructor, schedule.getClassroom(),
+                    schedule.getTimeSlot(), schedule.isLab()));
+        }
+        balanced.setSchedules(schedules);
+        return balanced;
+    }
+
+    private static int minutesOf(CourseSchedule schedule) {
+        TimeSlot slot = schedule.getTimeSlot();
+        return TimeUtils.getDurationMinutes(slot.getStartTime(), slot.getEndTime());
+    }
+
+    // Whole hours of teaching, at least one
+    private static int hoursOf(int minutes) {
+        return Math.max(1, (minutes + 59) / 60);
+    }
+
+    // Cost of the hour-th hour of an instructor's week; increasing, so the total is convex
+    static long marginalCost(int hour) {
+        long cost = BALANCE_WEIGHT * (2L * hour - 1);
+        int excess = hour - Constants.MAX_INSTRUCTOR_WEEKLY_HOURS;
+        if (excess > 0) {
+            cost += OVERLOAD_WEIGHT * (2L * excess - 1);
+        }
+        return cost;
+    }
+
+    // Total convex cost of a load vector, the sum of the marginal costs of every hour
+    static long loadCost(int[] load) {
+        long total = 0;
+        for (int hours : load) {
+            for (int hour = 1; hour <= hours; hour++) {
+                total += marginalCost(hour);
+            }
+        }
+        return total;
+    }
+
+    private boolean isFree(List<TimeSlot> busy, List<TimeSlot> slots) {
+        for (TimeSlot slot : slots) {
+            for (TimeSlot taken : busy) {
+                if (taken.overlaps(slot)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
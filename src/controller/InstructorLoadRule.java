@@ -0,0 +1,53 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import model.TimeSlot;
+import util.Constants;
+import util.TimeUtils;
+import java.util.Arrays;
+import java.util.List;
+
+// An instructor must not teach more than Constants.MAX_INSTRUCTOR_WEEKLY_HOURS hours a week
+public class InstructorLoadRule implements PolicyRule {
+
+    @Override
+    public String getId() {
+        return "instructor-load";
+    }
+
+    @Override
+    public PolicyRule.Compiled compile(PolicyIndex index) {
+        return new Evaluation(index);
+    }
+
+    private static class Evaluation implements PolicyRule.Compiled {
+        private final PolicyIndex index;
+        private final int[] hours; // by instructor
+
+        Evaluation(PolicyIndex index) {
+            this.index = index;
+            this.hours = new int[index.getInstructorCount()];
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(hours, 0);
+        }
+
+        @Override
+        public void visit(CourseSchedule schedule, int course, int instructor, int classroom) {
+            TimeSlot slot = schedule.getTimeSlot();
+            hours[instructor] += TimeUtils.getDurationHours(slot.getStartTime(), slot.getEndTime());
+        }
+
+        @Override
+        public void finish(List<PolicyViolation> violations) {
+            for (int i = 0; i < hours.length; i++) {
+                if (hours[i] > Constants.MAX_INSTRUCTOR_WEEKLY_HOURS) {
+                    violations.add(PolicyViolation.instructorOverload(index.getInstructor(i), hours[i]));
+                }
+            }
+        }
+    }
+}
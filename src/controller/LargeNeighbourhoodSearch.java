@@ -0,0 +1,368 @@
+package controller;
+
+import java.util.Random;
+
+// Large neighbourhood search over an Occupancy.
+// Each iteration unassigns a related group of sessions (one room on one day, one instructor's week,
+// or a cluster of courses sharing instructors) and re-inserts them with a small depth-first
+// systematic search, cheapest placements first. The result is kept if the placement cost does not
+// get worse, otherwise the old placements are restored. A share of the iterations instead tries a single
+// Kempe-chain or swap move from MoveGenerator. Iterations work on preallocated buffers only.
+public class LargeNeighbourhoodSearch {
+    private static final double EPSILON = 1e-9;
+    private static final double TIE_BREAK_NOISE = 0.5;
+    private static final int RELATED_COURSES = 4;
+    private static final double EXCHANGE_MOVE_SHARE = 0.25;
+
+    private final SchedulingProblem problem;
+    private final Random random;
+    private final int maxDestroy;
+    private final int nodeLimit;
+    private final int[][] relatedCourses;
+    private final MoveGenerator moves;
+
+    // Reusable buffers
+    private final int[] removed;
+    private final int[] oldSlot;
+    private final int[] oldRoom;
+    private final int[] oldInstructor;
+    private final int[] order;
+    private final int[] domainSize;
+    private final int[][] candidateSlot;
+    private final int[][] candidateRoom;
+    private final int[][] candidateInstructor;
+    private final double[][] candidateKey;
+    private int removedCount;
+    private int nodes;
+    private SchedulerStatistics statistics = new SchedulerStatistics();
+
+    public LargeNeighbourhoodSearch(SchedulingProblem problem, Random random) {
+        this(problem, random, 12, 400);
+    }
+
+    public LargeNeighbourhoodSearch(SchedulingProblem problem, Random random, int maxDestroy, int nodeLimit) {
+        this.problem = problem;
+        this.random = random;
+        this.maxDestroy = maxDestroy;
+        this.nodeLimit = nodeLimit;
+        this.relatedCourses = buildRelatedCourses(problem);
+        this.moves = new MoveGenerator(problem);
+
+        removed = new int[maxDestroy];
+        oldSlot = new int[maxDestroy];
+        oldRoom = new int[maxDestroy];
+        oldInstructor = new int[maxDestroy];
+        order = new int[maxDestroy];
+        domainSize = new int[maxDestroy];
+        int domain = Math.max(1, problem.slots.length);
+        candidateSlot = new int[maxDestroy][domain];
+        candidateRoom = new int[maxDestroy][domain];
+        candidateInstructor = new int[maxDestroy][domain];
+        candidateKey = new double[maxDestroy][domain];
+    }
+
+    // Counters of every following iteration go to the given statistics
+    public void setStatistics(SchedulerStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    // Run a number of iterations and return how many strictly lowered the cost
+    public int improve(Occupancy occupancy, int iterations) {
+        return improve(occupancy, iterations, Long.MAX_VALUE);
+    }
+
+    // Same as above but also stops at the given System.nanoTime() deadline
+    public int improve(Occupancy occupancy, int iterations, long deadlineNanos) {
+        int improvements = 0;
+        for (int i = 0; i < iterations; i++) {
+            if ((i & 63) == 0 && System.nanoTime() > deadlineNanos) {
+                break;
+            }
+            double before = occupancy.getCost();
+            boolean kept = iterate(occupancy);
+            statistics.recordImprovement(kept);
+            if (kept && occupancy.getCost() < before - EPSILON) {
+                improvements++;
+            }
+        }
+        return improvements;
+    }
+
+    // One destroy-and-repair step; returns true if the new placements were kept
+    public boolean iterate(Occupancy occupancy) {
+        if (random.nextDouble() < EXCHANGE_MOVE_SHARE) {
+            return exchange(occupancy);
+        }
+
+        int seed = randomAssignedSession(occupancy);
+        if (seed < 0) {
+            return false;
+        }
+
+        removedCount = 0;
+        switch (random.nextInt(3)) {
+            case 0:
+                destroyRoomDay(occupancy, seed);
+                break;
+            case 1:
+                destroyInstructorWeek(occupancy, seed);
+                break;
+            default:
+                destroyCourseCluster(occupancy, seed);
+                break;
+        }
+
+        double before = occupancy.getCost();
+        for (int k = 0; k < removedCount; k++) {
+            int session = removed[k];
+            oldSlot[k] = occupancy.slotOf[session];
+            oldRoom[k] = occupancy.roomOf[session];
+            oldInstructor[k] = occupancy.instructorOf[session];
+            occupancy.unplace(session);
+        }
+
+        if (repair(occupancy) && occupancy.getCost() <= before + EPSILON) {
+            return true;
+        }
+
+        // Restore the previous placements
+        for (int k = 0; k < removedCount; k++) {
+            occupancy.unplace(removed[k]);
+        }
+        for (int k = 0; k < removedCount; k++) {
+            occupancy.place(removed[k], oldSlot[k], oldRoom[k], oldInstructor[k]);
+        }
+        return false;
+    }
+
+    // A single slot-exchange move, kept if the cost does not get worse
+    private boolean exchange(Occupancy occupancy) {
+        double before = occupancy.getCost();
+        if (!moves.randomMove(occupancy, random)) {
+            return false;
+        }
+        if (occupancy.getCost() <= before + EPSILON) {
+            return true;
+        }
+        moves.undo(occupancy);
+        return false;
+    }
+
+    // Everything in the seed's room on the seed's day
+    private void destroyRoomDay(Occupancy occupancy, int seed) {
+        int room = occupancy.roomOf[seed];
+        int day = problem.slotDay[occupancy.slotOf[seed]];
+        int offset = random.nextInt(problem.sessionCount);
+        for (int k = 0; k < problem.sessionCount && removedCount < maxDestroy; k++) {
+            int s = (offset + k) % problem.sessionCount;
+            if (occupancy.roomOf[s] == room && problem.slotDay[occupancy.slotOf[s]] == day) {
+                removed[removedCount++] = s;
+            }
+        }
+    }
+
+    // The week of the seed's instructor
+    private void destroyInstructorWeek(Occupancy occupancy, int seed) {
+        int instructor = occupancy.instructorOf[seed];
+        int offset = random.nextInt(problem.sessionCount);
+        for (int k = 0; k < problem.sessionCount && removedCount < maxDestroy; k++) {
+            int s = (offset + k) % problem.sessionCount;
+            if (occupancy.instructorOf[s] == instructor) {
+                removed[removedCount++] = s;
+            }
+        }
+    }
+
+    // The seed's course and courses that share eligible instructors with it
+    private void destroyCourseCluster(Occupancy occupancy, int seed) {
+        int course = problem.sessionCourse[seed];
+        addCourseSessions(occupancy, course);
+        for (int related : relatedCourses[course]) {
+            if (removedCount >= maxDestroy) {
+                break;
+            }
+            addCourseSessions(occupancy, related);
+        }
+    }
+
+    private void addCourseSessions(Occupancy occupancy, int course) {
+        for (int s : problem.courseSessions[course]) {
+            if (removedCount < maxDestroy && occupancy.isAssigned(s)) {
+                removed[removedCount++] = s;
+            }
+        }
+    }
+
+    // Re-insert the removed sessions, most constrained first
+    private boolean repair(Occupancy occupancy) {
+        for (int k = 0; k < removedCount; k++) {
+            order[k] = k;
+            int session = removed[k];
+            int size = 0;
+            for (int slot : problem.sessionSlots[session]) {
+                if (occupancy.courseAllows(session, slot)) {
+                    size++;
+                }
+            }
+            domainSize[k] = size;
+            statistics.recordDomainSize(size);
+        }
+        for (int i = 1; i < removedCount; i++) {
+            int value = order[i];
+            int j = i - 1;
+            while (j >= 0 && domainSize[order[j]] > domainSize[value]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = value;
+        }
+
+        nodes = 0;
+        return search(occupancy, 0);
+    }
+
+    private boolean search(Occupancy occupancy, int depth) {
+        if (depth == removedCount) {
+            return true;
+        }
+        if (++nodes > nodeLimit) {
+            return false;
+        }
+
+        int session = removed[order[depth]];
+        int count = collectCandidates(occupancy, session, depth);
+        int[] slots = candidateSlot[depth];
+        int[] rooms = candidateRoom[depth];
+        int[] instructors = candidateInstructor[depth];
+
+        for (int i = 0; i < count; i++) {
+            statistics.recordAttempt();
+            occupancy.place(session, slots[i], rooms[i], instructors[i]);
+            if (search(occupancy, depth + 1)) {
+                return true;
+            }
+            occupancy.unplace(session);
+            statistics.recordBacktrack();
+            if (nodes > nodeLimit) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    // Feasible placements of a session sorted by cost (with a little noise to diversify ties)
+    private int collectCandidates(Occupancy occupancy, int session, int depth) {
+        int[] slots = candidateSlot[depth];
+        int[] rooms = candidateRoom[depth];
+        int[] instructors = candidateInstructor[depth];
+        double[] keys = candidateKey[depth];
+        int[] eligible = problem.courseInstructors[problem.sessionCourse[session]];
+        int slotCount = problem.slots.length;
+        int count = 0;
+
+        for (int slot : problem.sessionSlots[session]) {
+            if (!occupancy.courseAllows(session, slot)) {
+                statistics.recordConflict(SchedulerStatistics.Resource.COURSE);
+                continue;
+            }
+
+            int instructor = -1;
+            double instructorCost = 0;
+            for (int candidate : eligible) {
+                double candidateCost = problem.instructorSlotCost[candidate * slotCount + slot];
+                if ((instructor < 0 || candidateCost < instructorCost) && occupancy.instructorFree(candidate, slot)) {
+                    instructor = candidate;
+                    instructorCost = candidateCost;
+                }
+            }
+            if (instructor < 0) {
+                statistics.recordConflict(SchedulerStatistics.Resource.INSTRUCTOR);
+                continue;
+            }
+
+            int room = -1;
+            for (int candidate : problem.sessionRooms[session]) {
+                if (occupancy.roomFree(candidate, slot)) {
+                    room = candidate;
+                    break;
+                }
+            }
+            if (room < 0) {
+                statistics.recordConflict(SchedulerStatistics.Resource.ROOM);
+                continue;
+            }
+
+            double key = problem.placementCost(session, slot, instructor) + random.nextDouble() * TIE_BREAK_NOISE;
+
+            // Insertion sort keeps the buffers ordered without allocating
+            int i = count++;
+            while (i > 0 && keys[i - 1] > key) {
+                slots[i] = slots[i - 1];
+                rooms[i] = rooms[i - 1];
+                instructors[i] = instructors[i - 1];
+                keys[i] = keys[i - 1];
+                i--;
+            }
+            slots[i] = slot;
+            rooms[i] = room;
+            instructors[i] = instructor;
+            keys[i] = key;
+        }
+        return count;
+    }
+
+    private int randomAssignedSession(Occupancy occupancy) {
+        if (problem.sessionCount == 0) {
+            return -1;
+        }
+        int offset = random.nextInt(problem.sessionCount);
+        for (int k = 0; k < problem.sessionCount; k++) {
+            int s = (offset + k) % problem.sessionCount;
+            if (occupancy.isAssigned(s)) {
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    // For each course, a few other courses that share an eligible instructor with it
+    private static int[][] buildRelatedCourses(SchedulingProblem problem) {
+        int courseCount = problem.courses.length;
+        int[] perInstructor = new int[problem.instructors.length];
+        for (int[] eligible : problem.courseInstructors) {
+            for (int instructor : eligible) perInstructor[instructor]++;
+        }
+        int[][] coursesOfInstructor = new int[problem.instructors.length][];
+        for (int i = 0; i < coursesOfInstructor.length; i++) {
+            coursesOfInstructor[i] = new int[perInstructor[i]];
+            perInstructor[i] = 0;
+        }
+        for (int c = 0; c < courseCount; c++) {
+            for (int instructor : problem.courseInstructors[c]) {
+                coursesOfInstructor[instructor][perInstructor[instructor]++] = c;
+            }
+        }
+
+        int[][] related = new int[courseCount][];
+        int[] buffer = new int[RELATED_COURSES];
+        for (int c = 0; c < courseCount; c++) {
+            int count = 0;
+            for (int instructor : problem.courseInstructors[c]) {
+                for (int other : coursesOfInstructor[instructor]) {
+                    if (count == RELATED_COURSES) break;
+                    if (other == c) continue;
+                    boolean seen = false;
+                    for (int k = 0; k < count; k++) {
+                        if (buffer[k] == other) {
+                            seen = true;
+                            break;
+                        }
+                    }
+                    if (!seen) buffer[count++] = other;
+                }
+            }
+            related[c] = java.util.Arrays.copyOf(buffer, count);
+        }
+        return related;
+    }
+}
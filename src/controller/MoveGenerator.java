@@ -0,0 +1,277 @@
+package controller;
+
+import java.util.Random;
+
+// Slot-exchange moves on an Occupancy: Kempe chains and two- or three-way swaps.
+// The static conflict graph (sessions sharing a course or an eligible instructor) is built once per
+// problem; room and assigned-instructor clashes are resolved against the live occupancy. Every move is
+// journalled in preallocated buffers and applied only if it keeps all hard constraints, so a caller can
+// evaluate it and undo() it without any allocation.
+public class MoveGenerator {
+    private static final int PARTNER_ATTEMPTS = 8;
+
+    private final SchedulingProblem problem;
+    private final int[][] adjacency;
+    private final int[][] sessionsOfType; // [0] lectures, [1] labs
+
+    // Journal of the last applied move
+    private final int[] moved;
+    private final int[] previousSlot;
+    private final int[] previousRoom;
+    private final int[] previousInstructor;
+    private final int[] targetSlot;
+    private final int[] targetRoom;
+    private int movedCount;
+
+    // Kempe chain work buffers
+    private final int[] chain;
+    private final boolean[] inChain;
+    private final int[] sideMembers;
+
+    public MoveGenerator(SchedulingProblem problem) {
+        this.problem = problem;
+        this.adjacency = buildAdjacency(problem);
+
+        int lectures = 0;
+        for (int s = 0; s < problem.sessionCount; s++) {
+            if (!problem.sessionIsLab[s]) lectures++;
+        }
+        sessionsOfType = new int[][] {new int[lectures], new int[problem.sessionCount - lectures]};
+        int[] fill = new int[2];
+        for (int s = 0; s < problem.sessionCount; s++) {
+            int type = problem.sessionIsLab[s] ? 1 : 0;
+            sessionsOfType[type][fill[type]++] = s;
+        }
+
+        int n = problem.sessionCount;
+        moved = new int[n];
+        previousSlot = new int[n];
+        previousRoom = new int[n];
+        previousInstructor = new int[n];
+        targetSlot = new int[n];
+        targetRoom = new int[n];
+        chain = new int[n];
+        inChain = new boolean[n];
+        sideMembers = new int[n];
+    }
+
+    // Sessions that may conflict with the given one whatever the assignment
+    public int[] getNeighbours(int session) {
+        return adjacency[session];
+    }
+
+    // Number of sessions changed by the last applied move
+    public int getMovedCount() {
+        return movedCount;
+    }
+
+    // Apply a random move involving a random assigned session; returns false if nothing feasible was found
+    public boolean randomMove(Occupancy occupancy, Random random) {
+        if (problem.sessionCount == 0) {
+            return false;
+        }
+        int session = random.nextInt(problem.sessionCount);
+        if (!occupancy.isAssigned(session)) {
+            return false;
+        }
+
+        switch (random.nextInt(3)) {
+            case 0: {
+                int[] slots = problem.sessionSlots[session];
+                int slot = slots[random.nextInt(slots.length)];
+                return slot != occupancy.slotOf[session] && kempeChain(occupancy, session, slot);
+            }
+            case 1: {
+                int other = randomPartner(occupancy, session, random);
+                return other >= 0 && swap(occupancy, session, other);
+            }
+            default: {
+                int second = randomPartner(occupancy, session, random);
+                int third = randomPartner(occupancy, session, random);
+                return second >= 0 && third >= 0 && second != third && rotate(occupancy, session, second, third);
+            }
+        }
+    }
+
+    // Move the session to the target slot together with its Kempe chain: every session in either slot
+    // that clashes (course, instructor or room) with a chain member joins the chain and switches sides.
+    public boolean kempeChain(Occupancy occupancy, int session, int slot) {
+        int from = occupancy.slotOf[session];
+        if (from < 0 || from == slot || problem.slotIsLab[slot] != problem.sessionIsLab[session]) {
+            return false;
+        }
+
+        // Members of the two slots, used for room clashes which the static graph does not cover
+        int members = 0;
+        for (int s = 0; s < problem.sessionCount; s++) {
+            if (occupancy.slotOf[s] == from || occupancy.slotOf[s] == slot) {
+                sideMembers[members++] = s;
+            }
+        }
+
+        int length = 0;
+        chain[length++] = session;
+        inChain[session] = true;
+        for (int head = 0; head < length; head++) {
+            int current = chain[head];
+            int other = occupancy.slotOf[current] == from ? slot : from;
+
+            for (int neighbour : adjacency[current]) {
+                if (!inChain[neighbour] && occupancy.slotOf[neighbour] == other && clashes(occupancy, current, neighbour)) {
+                    inChain[neighbour] = true;
+                    chain[length++] = neighbour;
+                }
+            }
+            for (int k = 0; k < members; k++) {
+                int neighbour = sideMembers[k];
+                if (!inChain[neighbour] && occupancy.slotOf[neighbour] == other &&
+                        occupancy.roomOf[neighbour] == occupancy.roomOf[current]) {
+                    inChain[neighbour] = true;
+                    chain[length++] = neighbour;
+                }
+            }
+        }
+
+        movedCount = 0;
+        for (int k = 0; k < length; k++) {
+            int s = chain[k];
+            inChain[s] = false;
+            record(occupancy, s, occupancy.slotOf[s] == from ? slot : from, occupancy.roomOf[s]);
+        }
+        return apply(occupancy);
+    }
+
+    // Exchange the slots and rooms of two sessions of the same type; instructors stay with their sessions
+    public boolean swap(Occupancy occupancy, int a, int b) {
+        if (!sameType(a, b) || !occupancy.isAssigned(a) || !occupancy.isAssigned(b) ||
+                occupancy.slotOf[a] == occupancy.slotOf[b]) {
+            return false;
+        }
+        movedCount = 0;
+        record(occupancy, a, occupancy.slotOf[b], occupancy.roomOf[b]);
+        record(occupancy, b, occupancy.slotOf[a], occupancy.roomOf[a]);
+        return apply(occupancy);
+    }
+
+    // Cyclic three-way exchange: a takes b's place, b takes c's and c takes a's
+    public boolean rotate(Occupancy occupancy, int a, int b, int c) {
+        if (a == b || b == c || a == c || !sameType(a, b) || !sameType(b, c) ||
+                !occupancy.isAssigned(a) || !occupancy.isAssigned(b) || !occupancy.isAssigned(c)) {
+            return false;
+        }
+        movedCount = 0;
+        record(occupancy, a, occupancy.slotOf[b], occupancy.roomOf[b]);
+        record(occupancy, b, occupancy.slotOf[c], occupancy.roomOf[c]);
+        record(occupancy, c, occupancy.slotOf[a], occupancy.roomOf[a]);
+        return apply(occupancy);
+    }
+
+    // Revert the last successfully applied move
+    public void undo(Occupancy occupancy) {
+        for (int k = 0; k < movedCount; k++) {
+            occupancy.unplace(moved[k]);
+        }
+        for (int k = 0; k < movedCount; k++) {
+            occupancy.place(moved[k], previousSlot[k], previousRoom[k], previousInstructor[k]);
+        }
+        movedCount = 0;
+    }
+
+    private void record(Occupancy occupancy, int session, int slot, int room) {
+        moved[movedCount] = session;
+        previousSlot[movedCount] = occupancy.slotOf[session];
+        previousRoom[movedCount] = occupancy.roomOf[session];
+        previousInstructor[movedCount] = occupancy.instructorOf[session];
+        targetSlot[movedCount] = slot;
+        targetRoom[movedCount] = room;
+        movedCount++;
+    }
+
+    // Lift all journalled sessions, then place them at their targets; rolls back on the first violation
+    private boolean apply(Occupancy occupancy) {
+        for (int k = 0; k < movedCount; k++) {
+            occupancy.unplace(moved[k]);
+        }
+        for (int k = 0; k < movedCount; k++) {
+            int session = moved[k];
+            if (!roomAllowed(session, targetRoom[k]) ||
+                    !occupancy.canPlace(session, targetSlot[k], targetRoom[k], previousInstructor[k])) {
+                for (int j = 0; j < k; j++) {
+                    occupancy.unplace(moved[j]);
+                }
+                for (int j = 0; j < movedCount; j++) {
+                    occupancy.place(moved[j], previousSlot[j], previousRoom[j], previousInstructor[j]);
+                }
+                movedCount = 0;
+                return false;
+            }
+            occupancy.place(session, targetSlot[k], targetRoom[k], previousInstructor[k]);
+        }
+        return true;
+    }
+
+    private boolean roomAllowed(int session, int room) {
+        for (int candidate : problem.sessionRooms[session]) {
+            if (candidate == room) return true;
+        }
+        return false;
+    }
+
+    private boolean clashes(Occupancy occupancy, int a, int b) {
+        return problem.sessionCourse[a] == problem.sessionCourse[b] ||
+                occupancy.instructorOf[a] == occupancy.instructorOf[b];
+    }
+
+    private boolean sameType(int a, int b) {
+        return problem.sessionIsLab[a] == problem.sessionIsLab[b];
+    }
+
+    private int randomPartner(Occupancy occupancy, int session, Random random) {
+        int[] candidates = sessionsOfType[problem.sessionIsLab[session] ? 1 : 0];
+        for (int attempt = 0; attempt < PARTNER_ATTEMPTS; attempt++) {
+            int other = candidates[random.nextInt(candidates.length)];
+            if (other != session && occupancy.isAssigned(other) && occupancy.slotOf[other] != occupancy.slotOf[session]) {
+                return other;
+            }
+        }
+        return -1;
+    }
+
+    // Sessions of the same course, or of courses with a common eligible instructor
+    private static int[][] buildAdjacency(SchedulingProblem problem) {
+        int courseCount = problem.courses.length;
+        boolean[] related = new boolean[courseCount * courseCount];
+        for (int c = 0; c < courseCount; c++) {
+            related[c * courseCount + c] = true;
+            for (int d = c + 1; d < courseCount; d++) {
+                if (shareInstructor(problem.courseInstructors[c], problem.courseInstructors[d])) {
+                    related[c * courseCount + d] = true;
+                    related[d * courseCount + c] = true;
+                }
+            }
+        }
+
+        int[][] adjacency = new int[problem.sessionCount][];
+        int[] buffer = new int[problem.sessionCount];
+        for (int s = 0; s < problem.sessionCount; s++) {
+            int count = 0;
+            int row = problem.sessionCourse[s] * courseCount;
+            for (int t = 0; t < problem.sessionCount; t++) {
+                if (t != s && related[row + problem.sessionCourse[t]]) {
+                    buffer[count++] = t;
+                }
+            }
+            adjacency[s] = java.util.Arrays.copyOf(buffer, count);
+        }
+        return adjacency;
+    }
+
+    private static boolean shareInstructor(int[] a, int[] b) {
+        for (int x : a) {
+            for (int y : b) {
+                if (x == y) return true;
+            }
+        }
+        return false;
+    }
+}
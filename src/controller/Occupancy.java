@@ -0,0 +1,236 @@
+package controller;
+
+import model.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Incremental occupancy of a SchedulingProblem: which session sits where, plus per-resource
+// cell bitmasks and per-course day counters so that placement checks and updates are O(words)
+// and never allocate. Used by the local-search optimizers instead of rebuilding Timetable objects.
+public class Occupancy {
+    private static final int NONE = -1;
+
+    final SchedulingProblem problem;
+    final int[] slotOf;
+    final int[] roomOf;
+    final int[] instructorOf;
+
+    private final long[] courseBusy;
+    private final long[] instructorBusy;
+    private final long[] roomBusy;
+    private final int[] dayCount; // ((course * 2 + lab) * 8 + day)
+    private double cost;
+    private int assignedCount;
+
+    public Occupancy(SchedulingProblem problem) {
+        this.problem = problem;
+        int words = problem.words;
+        slotOf = new int[problem.sessionCount];
+        roomOf = new int[problem.sessionCount];
+        instructorOf = new int[problem.sessionCount];
+        Arrays.fill(slotOf, NONE);
+        Arrays.fill(roomOf, NONE);
+        Arrays.fill(instructorOf, NONE);
+        courseBusy = new long[problem.courses.length * words];
+        instructorBusy = new long[problem.instructors.length * words];
+        roomBusy = new long[problem.rooms.length * words];
+        dayCount = new int[problem.courses.length * 16];
+    }
+
+    private Occupancy(Occupancy other) {
+        problem = other.problem;
+        slotOf = other.slotOf.clone();
+        roomOf = other.roomOf.clone();
+        instructorOf = other.instructorOf.clone();
+        courseBusy = other.courseBusy.clone();
+        instructorBusy = other.instructorBusy.clone();
+        roomBusy = other.roomBusy.clone();
+        dayCount = other.dayCount.clone();
+        cost = other.cost;
+        assignedCount = other.assignedCount;
+    }
+
+    public Occupancy copy() {
+        return new Occupancy(this);
+    }
+
+    public SchedulingProblem getProblem() {
+        return problem;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public int getAssignedCount() {
+        return assignedCount;
+    }
+
+    public boolean isComplete() {
+        return assignedCount == problem.sessionCount;
+    }
+
+    public boolean isAssigned(int session) {
+        return slotOf[session] != NONE;
+    }
+
+    public int getSlot(int session) {
+        return slotOf[session];
+    }
+
+    public int getRoom(int session) {
+        return roomOf[session];
+    }
+
+    public int getInstructor(int session) {
+        return instructorOf[session];
+    }
+
+    // Whether the course of an unassigned session is free in the slot and the day-gap policy allows it
+    public boolean courseAllows(int session, int slot) {
+        return isFree(courseBusy, problem.sessionCourse[session], slot) && dayGapAllows(session, slot);
+    }
+
+    public boolean instructorFree(int instructor, int slot) {
+        return isFree(instructorBusy, instructor, slot);
+    }
+
+    public boolean roomFree(int room, int slot) {
+        return isFree(roomBusy, room, slot);
+    }
+
+    // Full hard-constraint check for an unassigned session
+    public boolean canPlace(int session, int slot, int room, int instructor) {
+        return problem.slotIsLab[slot] == problem.sessionIsLab[session] &&
+                courseAllows(session, slot) &&
+                isFree(instructorBusy, instructor, slot) &&
+                isFree(roomBusy, room, slot);
+    }
+
+    // No other session of the same course and type may sit on an adjacent day
+    public boolean dayGapAllows(int session, int slot) {
+        int base = dayBase(session);
+        int day = problem.slotDay[slot];
+        for (int other = 1; other <= 7; other++) {
+            if (dayCount[base + other] > 0 && SchedulingProblem.adjacentDays(day, other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Room may be -1 to leave it pending for a later assignRoom call
+    public void place(int session, int slot, int room, int instructor) {
+        slotOf[session] = slot;
+        roomOf[session] = room;
+        instructorOf[session] = instructor;
+        mark(courseBusy, problem.sessionCourse[session], slot, true);
+        mark(instructorBusy, instructor, slot, true);
+        if (room != NONE) {
+            mark(roomBusy, room, slot, true);
+        }
+        dayCount[dayBase(session) + problem.slotDay[slot]]++;
+        cost += problem.placementCost(session, slot, instructor);
+        assignedCount++;
+    }
+
+    public void unplace(int session) {
+        int slot = slotOf[session];
+        if (slot == NONE) {
+            return;
+        }
+        mark(courseBusy, problem.sessionCourse[session], slot, false);
+        mark(instructorBusy, instructorOf[session], slot, false);
+        if (roomOf[session] != NONE) {
+            mark(roomBusy, roomOf[session], slot, false);
+        }
+        dayCount[dayBase(session) + problem.slotDay[slot]]--;
+        cost -= problem.placementCost(session, slot, instructorOf[session]);
+        assignedCount--;
+        slotOf[session] = NONE;
+        roomOf[session] = NONE;
+        instructorOf[session] = NONE;
+    }
+
+    // Give a placed session whose room is pending its room
+    public void assignRoom(int session, int room) {
+        roomOf[session] = room;
+        mark(roomBusy, room, slotOf[session], true);
+    }
+
+    // Map a timetable onto the problem's sessions; returns null if it uses anything outside the problem
+    public static Occupancy fromTimetable(SchedulingProblem problem, Timetable timetable) {
+        Occupancy occupancy = new Occupancy(problem);
+
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            int course = problem.indexOfCourse(schedule.getCourse());
+            int slot = problem.indexOfSlot(schedule.getTimeSlot());
+            int room = problem.indexOfRoom(schedule.getClassroom());
+            int instructor = problem.indexOfInstructor(schedule.getInstructor());
+            if (course < 0 || slot < 0 || room < 0 || instructor < 0) {
+                return null;
+            }
+
+            // Next unassigned session of this course with the matching type
+            int session = NONE;
+            for (int candidate : problem.courseSessions[course]) {
+                if (!occupancy.isAssigned(candidate) && problem.sessionIsLab[candidate] == schedule.isLab()) {
+                    session = candidate;
+                    break;
+                }
+            }
+            if (session == NONE || problem.slotIsLab[slot] != schedule.isLab()) {
+                return null;
+            }
+            occupancy.place(session, slot, room, instructor);
+        }
+
+        return occupancy;
+    }
+
+    // Build a timetable from the assigned sessions that have a room; the occupancy is conflict-free, so no re-checking
+    public Timetable toTimetable(String name) {
+        Timetable timetable = new Timetable(name);
+        List<CourseSchedule> schedules = new ArrayList<>(assignedCount);
+        for (int s = 0; s < problem.sessionCount; s++) {
+            if (slotOf[s] == NONE || roomOf[s] == NONE) {
+                continue;
+            }
+            schedules.add(new CourseSchedule(problem.courses[problem.sessionCourse[s]],
+                    problem.instructors[instructorOf[s]], problem.rooms[roomOf[s]],
+                    problem.slots[slotOf[s]], problem.sessionIsLab[s]));
+        }
+        timetable.setSchedules(schedules);
+        return timetable;
+    }
+
+    private int dayBase(int session) {
+        return (problem.sessionCourse[session] * 2 + (problem.sessionIsLab[session] ? 1 : 0)) * 8;
+    }
+
+    private boolean isFree(long[] busy, int resource, int slot) {
+        int words = problem.words;
+        int b = resource * words;
+        int m = slot * words;
+        for (int w = 0; w < words; w++) {
+            if ((busy[b + w] & problem.slotMask[m + w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void mark(long[] busy, int resource, int slot, boolean set) {
+        int words = problem.words;
+        int b = resource * words;
+        int m = slot * words;
+        for (int w = 0; w < words; w++) {
+            if (set) {
+                busy[b + w] |= problem.slotMask[m + w];
+            } else {
+                busy[b + w] &= ~problem.slotMask[m + w];
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package controller;
+
+import model.*;
+import util.Constants;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Explains a rejected manual placement using the conflict index of the timetable. Every check is a range
+// lookup in the index, so an explanation costs a few hundred lookups at most and is cheap enough to
+// recompute whenever the placement being edited changes.
+public class PlacementExplainer {
+    private final int maxAlternatives;
+
+    public PlacementExplainer() {
+        this(Constants.PLACEMENT_ALTERNATIVES);
+    }
+
+    public PlacementExplainer(int maxAlternatives) {
+        this.maxAlternatives = maxAlternatives;
+    }
+
+    public PlacementExplanation explain(Timetable timetable, CourseSchedule requested, List<Classroom> classrooms) {
+        List<Conflict> blocking = timetable.getBlockingConflicts(requested);
+        if (blocking.isEmpty()) {
+            return new PlacementExplanation(requested, blocking, new ArrayList<>(), new ArrayList<>());
+        }
+        return new PlacementExplanation(requested, blocking,
+                otherRooms(timetable, requested, classrooms), otherSlots(timetable, requested));
+    }
+
+    // Another classroom only helps if the instructor and the course are free at that time
+    private List<CourseSchedule> otherRooms(Timetable timetable, CourseSchedule requested, List<Classroom> classrooms) {
+        List<CourseSchedule> rooms = new ArrayList<>();
+        if (!timetable.isResourceFree(requested, ConflictType.INSTRUCTOR)
+                || !timetable.isResourceFree(requested, ConflictType.COURSE)) {
+            return rooms;
+        }
+
+        for (Classroom classroom : classrooms) {
+            if (classroom.equals(requested.getClassroom())) {
+                continue;
+            }
+            CourseSchedule candidate = new CourseSchedule(requested.getCourse(), requested.getInstructor(),
+                    classroom, requested.getTimeSlot(), requested.isLab());
+            if (timetable.isResourceFree(candidate, ConflictType.CLASSROOM)) {
+                rooms.add(candidate);
+            }
+        }
+
+        int capacity = requested.getClassroom().getCapacity();
+        rooms.sort(Comparator.comparingInt(c -> Math.abs(c.getClassroom().getCapacity() - capacity)));
+        return rooms.size() > maxAlternatives ? new ArrayList<>(rooms.subList(0, maxAlternatives)) : rooms;
+    }
+
+    // Slots of the same length on the hour within teaching hours, nearest in the week first
+    private List<CourseSchedule> otherSlots(Timetable timetable, CourseSchedule requested) {
+        TimeSlot slot = requested.getTimeSlot();
+        int duration = slot.getDurationMinutes();
+        int requestedStart = slot.getStartMinute();
+
+        List<CourseSchedule> slots = new ArrayList<>();
+        for (DayOfWeek day : Constants.WEEKDAYS) {
+            for (LocalTime start = Constants.TIMETABLE_START_TIME;
+                 start.toSecondOfDay() / 60 + duration <= Constants.TIMETABLE_END_TIME.toSecondOfDay() / 60;
+                 start = start.plusHours(1)) {
+                if (day == slot.getDay() && start.equals(slot.getStartTime())) {
+                    continue;
+                }
+                TimeSlot other = TimeSlotRegistry.intern(day, start, start.plusMinutes(duration), slot.isLabSlot());
+                CourseSchedule candidate = new CourseSchedule(requested.getCourse(), requested.getInstructor(),
+                        requested.getClassroom(), other, requested.isLab());
+                if (timetable.canAdd(candidate)) {
+                    slots.add(candidate);
+                }
+            }
+        }
+
+        slots.sort(Comparator.comparingInt(c -> Math.abs(c.getTimeSlot().getStartMinute() - requestedStart)));
+        return slots.size() > maxAlternatives ? new ArrayList<>(slots.subList(0, maxAlternatives)) : slots;
+    }
+}
@@ -0,0 +1,84 @@
+package controller;
+
+import model.Conflict;
+import model.CourseSchedule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Why a session cannot be placed where it was asked for, and the closest placements that would work instead
+public class PlacementExplanation {
+    private final CourseSchedule requested;
+    private final List<Conflict> blocking;
+    private final List<CourseSchedule> otherRooms;
+    private final List<CourseSchedule> otherSlots;
+
+    public PlacementExplanation(CourseSchedule requested, List<Conflict> blocking,
+                                List<CourseSchedule> otherRooms, List<CourseSchedule> otherSlots) {
+        this.requested = requested;
+        this.blocking = blocking;
+        this.otherRooms = otherRooms;
+        this.otherSlots = otherSlots;
+    }
+
+    public CourseSchedule getRequested() {
+        return requested;
+    }
+
+    public boolean isFeasible() {
+        return blocking.isEmpty();
+    }
+
+    // One conflict per session in the way, that session first; all of them would have to move
+    public List<Conflict> getBlockingConflicts() {
+        return Collections.unmodifiableList(blocking);
+    }
+
+    // The requested session in another classroom at the same time, closest capacity first
+    public List<CourseSchedule> getOtherRooms() {
+        return Collections.unmodifiableList(otherRooms);
+    }
+
+    // The requested session in the same classroom at another time, nearest first
+    public List<CourseSchedule> getOtherSlots() {
+        return Collections.unmodifiableList(otherSlots);
+    }
+
+    public List<CourseSchedule> getAlternatives() {
+        List<CourseSchedule> alternatives = new ArrayList<>(otherRooms);
+        alternatives.addAll(otherSlots);
+        return alternatives;
+    }
+
+    @Override
+    public String toString() {
+        if (isFeasible()) {
+            return "No conflicts";
+        }
+        StringBuilder sb = new StringBuilder("Blocked by:\n");
+        for (Conflict conflict : blocking) {
+            CourseSchedule existing = conflict.getFirst();
+            sb.append("  ").append(existing.getCourse().getCourseCode())
+                    .append(" on ").append(existing.getTimeSlot())
+                    .append(" - ").append(conflict.getType().getDisplayName())
+                    .append(": ").append(conflict.getResourceName()).append("\n");
+        }
+        if (otherRooms.isEmpty() && otherSlots.isEmpty()) {
+            sb.append("No free alternative found.\n");
+        }
+        if (!otherRooms.isEmpty()) {
+            sb.append("Free classrooms at this time:");
+            for (CourseSchedule alternative : otherRooms) {
+                sb.append(" ").append(alternative.getClassroom().getRoomNumber());
+            }
+            sb.append("\n");
+        }
+        if (!otherSlots.isEmpty()) {
+            sb.append("Free times in ").append(requested.getClassroom().getRoomNumber()).append(":\n");
+            for (CourseSchedule alternative : otherSlots) {
+                sb.append("  ").append(alternative.getTimeSlot()).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+}
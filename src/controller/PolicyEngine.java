@@ -0,0 +1,102 @@
+package controller;
+
+import model.PolicyViolation;
+import model.Timetable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Runs the BITS policy rules over timetables. Rules are plug-ins: the default set covers day gaps, instructor
+// weekly, daily and consecutive hours and classroom utilization, and more can be registered. Per-rule time and
+// hit counts of every evaluation are added to running totals.
+// The rules compiled for one timetable are kept and reused for later timetables over the same entities, so
+// repeated checks of a timetable being edited do not compile again; within a rule, violations follow the
+// entity numbering of the index the rules were compiled against.
+public class PolicyEngine {
+    private final List<PolicyRule> rules = new ArrayList<>();
+    private final Map<String, PolicyRuleStatistics> totals = new LinkedHashMap<>();
+    private CompiledPolicy compiled;
+
+    public static PolicyEngine withDefaultRules() {
+        return new PolicyEngine()
+                .register(new DayGapRule())
+                .register(new InstructorLoadRule())
+                .register(new DailyHoursRule())
+                .register(new ConsecutiveHoursRule())
+                .register(new ClassroomUtilizationRule());
+    }
+
+    // Violations are reported in registration order of their rules
+    public PolicyEngine register(PolicyRule rule) {
+        for (PolicyRule registered : rules) {
+            if (registered.getId().equals(rule.getId())) {
+                throw new IllegalArgumentException("A policy rule with id " + rule.getId() + " is already registered");
+            }
+        }
+        rules.add(rule);
+        synchronized (this) {
+            compiled = null;
+        }
+        return this;
+    }
+
+    public List<PolicyRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    // Compile every rule against the entities of the index; the result can evaluate any number of timetables
+    // over those entities, one at a time
+    public CompiledPolicy compile(PolicyIndex index) {
+        List<PolicyRule.Compiled> compiled = new ArrayList<>(rules.size());
+        List<String> ids = new ArrayList<>(rules.size());
+        boolean[] reportsHard = new boolean[rules.size()];
+        for (int r = 0; r < rules.size(); r++) {
+            PolicyRule rule = rules.get(r);
+            compiled.add(rule.compile(index));
+            ids.add(rule.getId());
+            reportsHard[r] = rule.reportsHardViolations();
+        }
+        return new CompiledPolicy(this, index, ids, compiled, reportsHard);
+    }
+
+    // Evaluate every rule on the timetable
+    public PolicyReport evaluate(Timetable timetable) {
+        return compiledFor(timetable).evaluate(timetable);
+    }
+
+    // Violations of the timetable as a lazy stream, rule by rule in registration order
+    public Stream<PolicyViolation> violations(Timetable timetable) {
+        return compiledFor(timetable).violations(timetable, false);
+    }
+
+    // Whether the timetable breaks a hard policy, stopping after the first rule that reports one
+    public boolean hasHardViolation(Timetable timetable) {
+        return compiledFor(timetable).hasHardViolation(timetable);
+    }
+
+    // The kept compilation if it knows every entity of the timetable, else a new one for the timetable
+    private synchronized CompiledPolicy compiledFor(Timetable timetable) {
+        if (compiled == null || !compiled.getIndex().covers(timetable)) {
+            compiled = compile(PolicyIndex.of(timetable));
+        }
+        return compiled;
+    }
+
+    // Totals over every evaluation so far, one entry per rule
+    public synchronized List<PolicyRuleStatistics> getStatistics() {
+        List<PolicyRuleStatistics> copy = new ArrayList<>();
+        for (PolicyRuleStatistics rule : totals.values()) {
+            copy.add(rule.copy());
+        }
+        return copy;
+    }
+
+    synchronized void record(List<PolicyRuleStatistics> evaluation) {
+        for (PolicyRuleStatistics rule : evaluation) {
+            totals.computeIfAbsent(rule.getRuleId(), PolicyRuleStatistics::new).merge(rule);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package controller;
+
+import model.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dense numbering of the courses, instructors and classrooms policy rules are compiled against
+public class PolicyIndex {
+    private final List<Course> courses = new ArrayList<>();
+    private final List<Instructor> instructors = new ArrayList<>();
+    private final List<Classroom> classrooms = new ArrayList<>();
+    private final Map<Course, Integer> courseIds = new HashMap<>();
+    private final Map<Instructor, Integer> instructorIds = new HashMap<>();
+    private final Map<Classroom, Integer> classroomIds = new HashMap<>();
+
+    public PolicyIndex(Collection<Course> courses, Collection<Instructor> instructors,
+                       Collection<Classroom> classrooms) {
+        for (Course course : courses) add(course, this.courses, courseIds);
+        for (Instructor instructor : instructors) add(instructor, this.instructors, instructorIds);
+        for (Classroom classroom : classrooms) add(classroom, this.classrooms, classroomIds);
+    }
+
+    // Index of the entities a timetable uses, numbered in order of first appearance
+    public static PolicyIndex of(Timetable timetable) {
+        PolicyIndex index = new PolicyIndex(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            add(schedule.getCourse(), index.courses, index.courseIds);
+            add(schedule.getInstructor(), index.instructors, index.instructorIds);
+            add(schedule.getClassroom(), index.classrooms, index.classroomIds);
+        }
+        return index;
+    }
+
+    // Whether every course, instructor and classroom the timetable uses has an id
+    public boolean covers(Timetable timetable) {
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            if (!courseIds.containsKey(schedule.getCourse())
+                    || !instructorIds.containsKey(schedule.getInstructor())
+                    || !classroomIds.containsKey(schedule.getClassroom())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> void add(T entity, List<T> list, Map<T, Integer> ids) {
+        if (!ids.containsKey(entity)) {
+            ids.put(entity, list.size());
+            list.add(entity);
+        }
+    }
+
+    public int getCourseCount() {
+        return courses.size();
+    }
+
+    public int getInstructorCount() {
+        return instructors.size();
+    }
+
+    public int getClassroomCount() {
+        return classrooms.size();
+    }
+
+    public Course getCourse(int id) {
+        return courses.get(id);
+    }
+
+    public Instructor getInstructor(int id) {
+        return instructors.get(id);
+    }
+
+    public Classroom getClassroom(int id) {
+        return classrooms.get(id);
+    }
+
+    // Ids are -1 for entities the index does not know
+    public int indexOfCourse(Course course) {
+        return courseIds.getOrDefault(course, -1);
+    }
+
+    public int indexOfInstructor(Instructor instructor) {
+        return instructorIds.getOrDefault(instructor, -1);
+    }
+
+    public int indexOfClassroom(Classroom classroom) {
+        return classroomIds.getOrDefault(classroom, -1);
+    }
+}
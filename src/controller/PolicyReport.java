@@ -0,0 +1,48 @@
+package controller;
+
+import model.PolicyViolation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of evaluating the policy rules on one timetable: the violations, rule by rule in engine order,
+// and the time and hit count of every rule
+public class PolicyReport {
+    private final List<PolicyViolation> violations;
+    private final List<PolicyRuleStatistics> statistics;
+
+    public PolicyReport(List<PolicyViolation> violations, List<PolicyRuleStatistics> statistics) {
+        this.violations = violations;
+        this.statistics = statistics;
+    }
+
+    public List<PolicyViolation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    public List<PolicyRuleStatistics> getStatistics() {
+        return Collections.unmodifiableList(statistics);
+    }
+
+    public boolean hasHardViolation() {
+        for (PolicyViolation violation : violations) {
+            if (violation.isHard()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        for (PolicyRuleStatistics rule : statistics) {
+            lines.add(rule.toString());
+        }
+        return lines;
+    }
+
+    @Override
+    public String toString() {
+        return violations.size() + " violations; " + String.join("; ", toLines());
+    }
+}
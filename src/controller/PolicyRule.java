@@ -0,0 +1,33 @@
+package controller;
+
+import model.CourseSchedule;
+import model.PolicyViolation;
+import java.util.List;
+
+// A BITS timetable policy that can be plugged into a PolicyEngine.
+// A rule is compiled once against the dense entity numbering of a PolicyIndex, so its counters are plain
+// arrays indexed by course, instructor or classroom id. The compiled form sees every schedule of a timetable
+// once, in a single pass shared with the other rules, and reports what it found at the end.
+public interface PolicyRule {
+
+    // Stable identifier used in statistics, e.g. "day-gap"
+    String getId();
+
+    Compiled compile(PolicyIndex index);
+
+    // Whether the rule can report hard violations; rules that cannot are skipped by hard-only checks
+    default boolean reportsHardViolations() {
+        return true;
+    }
+
+    interface Compiled {
+        // Forget the previous evaluation
+        void reset();
+
+        // One schedule of the timetable, with the ids of its course, instructor and classroom
+        void visit(CourseSchedule schedule, int course, int instructor, int classroom);
+
+        // Add the violations found since the last reset
+        void finish(List<PolicyViolation> violations);
+    }
+}
@@ -0,0 +1,53 @@
+package controller;
+
+// Time spent in one policy rule and the violations it reported, over one or more evaluations
+public class PolicyRuleStatistics {
+    private final String ruleId;
+    private long evaluations;
+    private long nanos;
+    private long hits;
+
+    public PolicyRuleStatistics(String ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    void record(long nanos, long hits) {
+        this.evaluations++;
+        this.nanos += nanos;
+        this.hits += hits;
+    }
+
+    void merge(PolicyRuleStatistics other) {
+        evaluations += other.evaluations;
+        nanos += other.nanos;
+        hits += other.hits;
+    }
+
+    PolicyRuleStatistics copy() {
+        PolicyRuleStatistics copy = new PolicyRuleStatistics(ruleId);
+        copy.merge(this);
+        return copy;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d violations, %.3f ms over %d evaluations",
+                ruleId, hits, nanos / 1_000_000.0, evaluations);
+    }
+}
@@ -0,0 +1,35 @@
+package controller;
+
+import model.Timetable;
+import java.util.Collections;
+import java.util.List;
+
+// Suggestions of a scheduler run together with the statistics collected while producing them
+public class SchedulerResult {
+    private final List<Timetable> suggestions;
+    private final SchedulerStatistics statistics;
+    private final boolean truncated;
+
+    public SchedulerResult(List<Timetable> suggestions, SchedulerStatistics statistics) {
+        this(suggestions, statistics, false);
+    }
+
+    public SchedulerResult(List<Timetable> suggestions, SchedulerStatistics statistics, boolean truncated) {
+        this.suggestions = suggestions;
+        this.statistics = statistics;
+        this.truncated = truncated;
+    }
+
+    public List<Timetable> getSuggestions() {
+        return Collections.unmodifiableList(suggestions);
+    }
+
+    public SchedulerStatistics getStatistics() {
+        return statistics;
+    }
+
+    // Whether the SolverBudget stopped the run early; the suggestions are then the best found in time
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
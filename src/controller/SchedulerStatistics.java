@@ -0,0 +1,180 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Search counters and per-phase wall-clock time of a scheduler run.
+// Not thread-safe: every worker keeps its own instance and the results are merged afterwards.
+public class SchedulerStatistics {
+    public enum Phase { COMPILE, CONSTRUCT, IMPROVE, DEDUPE }
+
+    public enum Resource { COURSE, INSTRUCTOR, ROOM }
+
+    private long attempts;
+    private long backtracks;
+    private long restarts;
+    private long candidates;
+    private long failedCandidates;
+    private long improvementIterations;
+    private long acceptedImprovements;
+    private long budgetStops;
+    private final long[] conflicts = new long[Resource.values().length];
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long domainSamples;
+    private long domainTotal;
+    private int domainMin = Integer.MAX_VALUE;
+    private int domainMax;
+
+    // A single placement tried by a construction or repair step
+    public void recordAttempt() {
+        attempts++;
+    }
+
+    // A placement undone because the rest of the search below it failed
+    public void recordBacktrack() {
+        backtracks++;
+    }
+
+    // A construction abandoned and started again from scratch
+    public void recordRestart() {
+        restarts++;
+    }
+
+    public void recordCandidate(boolean built) {
+        candidates++;
+        if (!built) {
+            failedCandidates++;
+        }
+    }
+
+    public void recordImprovement(boolean accepted) {
+        improvementIterations++;
+        if (accepted) {
+            acceptedImprovements++;
+        }
+    }
+
+    // A run cut short by its SolverBudget
+    public void recordBudgetStop() {
+        budgetStops++;
+    }
+
+    // A rejected placement, attributed to the resource that was already taken
+    public void recordConflict(Resource resource) {
+        conflicts[resource.ordinal()]++;
+    }
+
+    // Number of values still open for a variable when the search picked it
+    public void recordDomainSize(int size) {
+        domainSamples++;
+        domainTotal += size;
+        domainMin = Math.min(domainMin, size);
+        domainMax = Math.max(domainMax, size);
+    }
+
+    public void addPhaseNanos(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    // Add the counters of another run or worker to this one
+    public void merge(SchedulerStatistics other) {
+        attempts += other.attempts;
+        backtracks += other.backtracks;
+        restarts += other.restarts;
+        candidates += other.candidates;
+        failedCandidates += other.failedCandidates;
+        improvementIterations += other.improvementIterations;
+        acceptedImprovements += other.acceptedImprovements;
+        budgetStops += other.budgetStops;
+        for (int i = 0; i < conflicts.length; i++) conflicts[i] += other.conflicts[i];
+        for (int i = 0; i < phaseNanos.length; i++) phaseNanos[i] += other.phaseNanos[i];
+        domainSamples += other.domainSamples;
+        domainTotal += other.domainTotal;
+        domainMin = Math.min(domainMin, other.domainMin);
+        domainMax = Math.max(domainMax, other.domainMax);
+    }
+
+    public SchedulerStatistics copy() {
+        SchedulerStatistics copy = new SchedulerStatistics();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getAttempts() {
+        return attempts;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    public long getRestarts() {
+        return restarts;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public long getFailedCandidates() {
+        return failedCandidates;
+    }
+
+    public long getImprovementIterations() {
+        return improvementIterations;
+    }
+
+    public long getAcceptedImprovements() {
+        return acceptedImprovements;
+    }
+
+    public long getBudgetStops() {
+        return budgetStops;
+    }
+
+    public long getConflicts(Resource resource) {
+        return conflicts[resource.ordinal()];
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getDomainSamples() {
+        return domainSamples;
+    }
+
+    public double getAverageDomainSize() {
+        return domainSamples == 0 ? 0 : (double) domainTotal / domainSamples;
+    }
+
+    public int getMinDomainSize() {
+        return domainSamples == 0 ? 0 : domainMin;
+    }
+
+    public int getMaxDomainSize() {
+        return domainMax;
+    }
+
+    // One line per figure, for display
+    public List<String> toLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("Candidates: %d (%d failed)", candidates, failedCandidates));
+        lines.add(String.format("Attempts: %d, backtracks: %d, restarts: %d", attempts, backtracks, restarts));
+        lines.add(String.format("Conflicts: course %d, instructor %d, room %d",
+                getConflicts(Resource.COURSE), getConflicts(Resource.INSTRUCTOR), getConflicts(Resource.ROOM)));
+        lines.add(String.format("Domain size: avg %.1f, min %d, max %d",
+                getAverageDomainSize(), getMinDomainSize(), getMaxDomainSize()));
+        lines.add(String.format("Improvement: %d iterations, %d accepted", improvementIterations, acceptedImprovements));
+        lines.add(String.format("Budget stops: %d", budgetStops));
+        for (Phase phase : Phase.values()) {
+            lines.add(String.format("%s: %.1f ms", phase, getPhaseNanos(phase) / 1_000_000.0));
+        }
+        return lines;
+    }
+
+    @Override
+    public String toString() {
+        return String.join("; ", toLines());
+    }
+}
@@ -0,0 +1,316 @@
+package controller;
+
+import model.*;
+import java.util.*;
+
+// Dense, index-based compilation of a scheduling input, built once per problem.
+// Entities are numbered 0..n-1, every slot is expanded into a bitmask over elementary time cells
+// (the pieces between consecutive slot boundaries of a day) and every session of every course gets
+// its candidate slots, instructors and rooms. The arrays are shared read-only by the solver components.
+public class SchedulingProblem {
+    final Course[] courses;
+    final Instructor[] instructors;
+    final Classroom[] rooms;
+    final TimeSlot[] slots;
+
+    final int cellCount;
+    final int words;             // longs per cell bitmask
+    final long[] slotMask;       // slots * words
+    final int[] slotDay;         // DayOfWeek value of each slot
+    final boolean[] slotIsLab;
+
+    final int sessionCount;
+    final int[] sessionCourse;
+    final boolean[] sessionIsLab;
+    final int[][] sessionSlots;      // candidate slots of each session
+    final int[][] sessionRooms;      // candidate rooms of each session, smallest capacity first
+    final int[] sessionDemand;       // seats a session is expected to need
+    final int[][] courseInstructors; // eligible instructors of each course (a single one once fixed)
+    final int[][] courseSessions;
+
+    final double[] courseSlotCost;     // courses * slots
+    final double[] instructorSlotCost; // instructors * slots
+
+    private final Map<Course, Integer> courseIndex = new HashMap<>();
+    private final Map<Instructor, Integer> instructorIndex = new HashMap<>();
+    private final Map<Classroom, Integer> roomIndex = new HashMap<>();
+    private final Map<TimeSlot, Integer> slotIndex = new HashMap<>();
+    private final int[] slotIndexById; // By TimeSlotRegistry id, -1 where the id is not one of the slots
+
+    public SchedulingProblem(List<Course> courseList, List<Instructor> instructorList,
+                             List<Classroom> classroomList, List<TimeSlot> availableTimeSlots) {
+        TimetableScorer scorer = new TimetableScorer();
+
+        instructors = instructorList.toArray(new Instructor[0]);
+        rooms = classroomList.toArray(new Classroom[0]);
+        slots = availableTimeSlots.toArray(new TimeSlot[0]);
+        for (int t = 0; t < slots.length; t++) slots[t] = TimeSlotRegistry.intern(slots[t]);
+        for (int i = 0; i < instructors.length; i++) instructorIndex.put(instructors[i], i);
+        for (int r = 0; r < rooms.length; r++) roomIndex.put(rooms[r], r);
+        for (int t = 0; t < slots.length; t++) slotIndex.putIfAbsent(slots[t], t);
+        slotIndexById = indexById(slots, slotIndex);
+
+        // Same course order and skipping rule as AutoScheduler: most sessions first, no instructor means skipped
+        List<Course> sortedCourses = new ArrayList<>(courseList);
+        sortedCourses.sort((c1, c2) -> (c2.getLectureHours() + c2.getLabHours()) -
+                (c1.getLectureHours() + c1.getLabHours()));
+        List<Course> schedulable = new ArrayList<>();
+        List<int[]> eligible = new ArrayList<>();
+        for (Course course : sortedCourses) {
+            List<Integer> suitable = new ArrayList<>();
+            for (int i = 0; i < instructors.length; i++) {
+                if (instructors[i].canTeach(course.getCourseCode())) {
+                    suitable.add(i);
+                }
+            }
+            if (!suitable.isEmpty()) {
+                schedulable.add(course);
+                eligible.add(suitable.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+        courses = schedulable.toArray(new Course[0]);
+        courseInstructors = eligible.toArray(new int[0][]);
+        for (int c = 0; c < courses.length; c++) courseIndex.put(courses[c], c);
+
+        // Elementary time cells per day
+        Map<Integer, TreeSet<Integer>> boundaries = new TreeMap<>();
+        for (TimeSlot slot : slots) {
+            TreeSet<Integer> points = boundaries.computeIfAbsent(slot.getDay().getValue(), d -> new TreeSet<>());
+            points.add(slot.getStartMinute());
+            points.add(slot.getEndMinute());
+        }
+        Map<Integer, Integer[]> dayPoints = new HashMap<>();
+        Map<Integer, Integer> dayFirstCell = new HashMap<>();
+        int cells = 0;
+        for (Map.Entry<Integer, TreeSet<Integer>> entry : boundaries.entrySet()) {
+            Integer[] points = entry.getValue().toArray(new Integer[0]);
+            dayPoints.put(entry.getKey(), points);
+            dayFirstCell.put(entry.getKey(), cells);
+            cells += Math.max(0, points.length - 1);
+        }
+        cellCount = cells;
+        words = Math.max(1, (cellCount + 63) / 64);
+
+        slotMask = new long[slots.length * words];
+        slotDay = new int[slots.length];
+        slotIsLab = new boolean[slots.length];
+        for (int t = 0; t < slots.length; t++) {
+            TimeSlot slot = slots[t];
+            int day = slot.getDay().getValue();
+            slotDay[t] = day;
+            slotIsLab[t] = slot.isLabSlot();
+            Integer[] points = dayPoints.get(day);
+            int first = dayFirstCell.get(day);
+            int start = slot.getStartMinute();
+            int end = slot.getEndMinute();
+            for (int k = 0; k + 1 < points.length; k++) {
+                if (points[k] >= start && points[k + 1] <= end) {
+                    int cell = first + k;
+                    slotMask[t * words + (cell >>> 6)] |= 1L << (cell & 63);
+                }
+            }
+        }
+
+        // Sessions: one per lecture hour plus a single combined lab session
+        List<Integer> courseOfSession = new ArrayList<>();
+        List<Boolean> labOfSession = new ArrayList<>();
+        courseSessions = new int[courses.length][];
+        for (int c = 0; c < courses.length; c++) {
+            int lectures = courses[c].getLectureHours();
+            int labs = courses[c].getLabHours() > 0 ? 1 : 0;
+            courseSessions[c] = new int[lectures + labs];
+            for (int k = 0; k < lectures + labs; k++) {
+                courseSessions[c][k] = courseOfSession.size();
+                courseOfSession.add(c);
+                labOfSession.add(k >= lectures);
+            }
+        }
+        sessionCount = courseOfSession.size();
+        sessionCourse = new int[sessionCount];
+        sessionIsLab = new boolean[sessionCount];
+        sessionSlots = new int[sessionCount][];
+        sessionRooms = new int[sessionCount][];
+        sessionDemand = new int[sessionCount];
+
+        int[] lectureSlots = slotsOfType(false);
+        int[] labSlots = slotsOfType(true);
+        Integer[] roomsBySize = new Integer[rooms.length];
+        for (int r = 0; r < rooms.length; r++) roomsBySize[r] = r;
+        Arrays.sort(roomsBySize, Comparator.comparingInt(r -> rooms[r].getCapacity()));
+        int[] allRooms = Arrays.stream(roomsBySize).mapToInt(Integer::intValue).toArray();
+
+        for (int s = 0; s < sessionCount; s++) {
+            int c = courseOfSession.get(s);
+            sessionCourse[s] = c;
+            sessionIsLab[s] = labOfSession.get(s);
+            sessionSlots[s] = sessionIsLab[s] ? labSlots : lectureSlots;
+            sessionRooms[s] = sessionIsLab[s] ? labRooms(courses[c], allRooms) : allRooms;
+            sessionDemand[s] = sessionIsLab[s] ? courses[c].getCredits() * 5 : 0;
+        }
+
+        courseSlotCost = new double[courses.length * slots.length];
+        for (int c = 0; c < courses.length; c++) {
+            for (int t = 0; t < slots.length; t++) {
+                courseSlotCost[c * slots.length + t] = scorer.coursePlacementPenalty(courses[c], slots[t]);
+            }
+        }
+        instructorSlotCost = new double[instructors.length * slots.length];
+        for (int i = 0; i < instructors.length; i++) {
+            for (int t = 0; t < slots.length; t++) {
+                instructorSlotCost[i * slots.length + t] = scorer.instructorPlacementPenalty(instructors[i], slots[t]);
+            }
+        }
+    }
+
+    // Same problem with one fixed instructor per course; all other arrays are shared
+    private SchedulingProblem(SchedulingProblem base, int[][] fixedInstructors) {
+        courses = base.courses;
+        instructors = base.instructors;
+        rooms = base.rooms;
+        slots = base.slots;
+        cellCount = base.cellCount;
+        words = base.words;
+        slotMask = base.slotMask;
+        slotDay = base.slotDay;
+        slotIsLab = base.slotIsLab;
+        sessionCount = base.sessionCount;
+        sessionCourse = base.sessionCourse;
+        sessionIsLab = base.sessionIsLab;
+        sessionSlots = base.sessionSlots;
+        sessionRooms = base.sessionRooms;
+        sessionDemand = base.sessionDemand;
+        courseInstructors = fixedInstructors;
+        courseSessions = base.courseSessions;
+        courseSlotCost = base.courseSlotCost;
+        instructorSlotCost = base.instructorSlotCost;
+        courseIndex.putAll(base.courseIndex);
+        instructorIndex.putAll(base.instructorIndex);
+        roomIndex.putAll(base.roomIndex);
+        slotIndex.putAll(base.slotIndex);
+        slotIndexById = base.slotIndexById;
+    }
+
+    // Index of every interned slot by registry id, agreeing with slotIndex (the first equal slot wins)
+    private static int[] indexById(TimeSlot[] slots, Map<TimeSlot, Integer> slotIndex) {
+        int maxId = -1;
+        for (TimeSlot slot : slots) maxId = Math.max(maxId, slot.getId());
+        int[] byId = new int[maxId + 1];
+        Arrays.fill(byId, -1);
+        for (TimeSlot slot : slots) {
+            if (slot.isInterned()) byId[slot.getId()] = slotIndex.get(slot);
+        }
+        return byId;
+    }
+
+    // Restrict every course to the given instructor (indexed by course)
+    public SchedulingProblem withFixedInstructors(int[] courseInstructor) {
+        int[][] fixed = new int[courses.length][];
+        for (int c = 0; c < courses.length; c++) {
+            fixed[c] = new int[] {courseInstructor[c]};
+        }
+        return new SchedulingProblem(this, fixed);
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public int getCourseCount() {
+        return courses.length;
+    }
+
+    public int getInstructorCount() {
+        return instructors.length;
+    }
+
+    public int getRoomCount() {
+        return rooms.length;
+    }
+
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    public int[] getEligibleInstructors(int course) {
+        return courseInstructors[course].clone();
+    }
+
+    public Course getCourse(int index) {
+        return courses[index];
+    }
+
+    public Instructor getInstructor(int index) {
+        return instructors[index];
+    }
+
+    public Classroom getRoom(int index) {
+        return rooms[index];
+    }
+
+    public TimeSlot getSlot(int index) {
+        return slots[index];
+    }
+
+    public int indexOfCourse(Course course) {
+        return courseIndex.getOrDefault(course, -1);
+    }
+
+    public int indexOfInstructor(Instructor instructor) {
+        return instructorIndex.getOrDefault(instructor, -1);
+    }
+
+    public int indexOfRoom(Classroom classroom) {
+        return roomIndex.getOrDefault(classroom, -1);
+    }
+
+    public int indexOfSlot(TimeSlot slot) {
+        int id = slot.getId();
+        if (id >= 0 && id < slotIndexById.length && slotIndexById[id] >= 0) {
+            return slotIndexById[id];
+        }
+        return slotIndex.getOrDefault(slot, -1);
+    }
+
+    // Cost of placing a session in a slot with an instructor, the per-session part of TimetableScorer
+    public double placementCost(int session, int slot, int instructor) {
+        return courseSlotCost[sessionCourse[session] * slots.length + slot] +
+                instructorSlotCost[instructor * slots.length + slot];
+    }
+
+    // Whether two slots share at least one time cell
+    public boolean slotsOverlap(int slotA, int slotB) {
+        int a = slotA * words;
+        int b = slotB * words;
+        for (int w = 0; w < words; w++) {
+            if ((slotMask[a + w] & slotMask[b + w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether the day-gap policy treats two days as adjacent (same rule as AutoScheduler)
+    static boolean adjacentDays(int day1, int day2) {
+        return Math.abs(day1 - day2) == 1 || (day1 == 1 && day2 == 5) || (day1 == 5 && day2 == 1);
+    }
+
+    private int[] slotsOfType(boolean lab) {
+        int count = 0;
+        for (int t = 0; t < slots.length; t++) {
+            if (slotIsLab[t] == lab) count++;
+        }
+        int[] result = new int[count];
+        count = 0;
+        for (int t = 0; t < slots.length; t++) {
+            if (slotIsLab[t] == lab) result[count++] = t;
+        }
+        return result;
+    }
+
+    // Labs need rooms of at least credits * 5 seats, falling back to all rooms like AutoScheduler
+    private int[] labRooms(Course course, int[] allRooms) {
+        int minCapacity = course.getCredits() * 5;
+        int[] suitable = Arrays.stream(allRooms).filter(r -> rooms[r].getCapacity() >= minCapacity).toArray();
+        return suitable.length > 0 ? suitable : allRooms;
+    }
+}
@@ -0,0 +1,75 @@
+package controller;
+
+import model.ConflictType;
+import java.time.DayOfWeek;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Where one session of a course/instructor/classroom triple could go in the weekly grid (working days by
+// teaching hours) and how good each start would be. Cells are addressed by day index and hour index.
+public class SlotHeatmap {
+    private final DayOfWeek[] days;
+    private final int firstHour;
+    private final int hours;
+    private final int durationHours;
+    private final long feasible;      // bit day * hours + hour, set if a session can start there
+    private final long[] blocking;    // by ConflictType ordinal, bit set if that resource is busy in the window
+    private final double[] scores;    // 0..100, NaN where infeasible
+
+    SlotHeatmap(DayOfWeek[] days, int firstHour, int hours, int durationHours,
+                long feasible, long[] blocking, double[] scores) {
+        this.days = days;
+        this.firstHour = firstHour;
+        this.hours = hours;
+        this.durationHours = durationHours;
+        this.feasible = feasible;
+        this.blocking = blocking;
+        this.scores = scores;
+    }
+
+    public int getDayCount() {
+        return days.length;
+    }
+
+    public DayOfWeek getDay(int dayIndex) {
+        return days[dayIndex];
+    }
+
+    public int getHourCount() {
+        return hours;
+    }
+
+    // Hour of the day the hour index stands for
+    public int getHour(int hourIndex) {
+        return firstHour + hourIndex;
+    }
+
+    public int getDurationHours() {
+        return durationHours;
+    }
+
+    public boolean isFeasible(int dayIndex, int hourIndex) {
+        return (feasible >>> (dayIndex * hours + hourIndex) & 1L) != 0;
+    }
+
+    public int getFeasibleCount() {
+        return Long.bitCount(feasible);
+    }
+
+    // Placement quality from 0 to 100, higher is better; NaN where the session cannot start
+    public double getScore(int dayIndex, int hourIndex) {
+        return scores[dayIndex * hours + hourIndex];
+    }
+
+    // Resources already taken during a session starting there; empty for feasible cells
+    // and for starts that would run past the end of the day
+    public Set<ConflictType> getBlockingTypes(int dayIndex, int hourIndex) {
+        Set<ConflictType> types = EnumSet.noneOf(ConflictType.class);
+        for (ConflictType type : ConflictType.values()) {
+            if ((blocking[type.ordinal()] >>> (dayIndex * hours + hourIndex) & 1L) != 0) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+}
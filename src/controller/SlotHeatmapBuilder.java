@@ -0,0 +1,47 @@
+package controller;
+
+import model.*;
+import java.util.Arrays;
+
+// Builds a SlotHeatmap for manual editing. The grid fits in one long (see WeekGrid), so one pass over the
+// timetable marks the hours the classroom, the instructor and the course are busy as three bitsets. A session
+// of d hours can start where the union is free for d hours in a row: the free set ANDed with itself shifted
+// by 1..d-1, limited to starts that end within the day.
+public class SlotHeatmapBuilder {
+    private final TimetableScorer scorer = new TimetableScorer();
+
+    public SlotHeatmap build(Timetable timetable, Course course, Instructor instructor, Classroom classroom,
+                             int durationHours, boolean lab) {
+        long[] busy = new long[ConflictType.values().length];
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            long cells = WeekGrid.cellsOf(schedule.getTimeSlot());
+            if (cells == 0) {
+                continue;
+            }
+            if (schedule.getClassroom().equals(classroom)) busy[ConflictType.CLASSROOM.ordinal()] |= cells;
+            if (schedule.getInstructor().equals(instructor)) busy[ConflictType.INSTRUCTOR.ordinal()] |= cells;
+            if (schedule.getCourse().equals(course)) busy[ConflictType.COURSE.ordinal()] |= cells;
+        }
+
+        int duration = WeekGrid.clampDuration(durationHours);
+        long starts = WeekGrid.validStarts(duration);
+        long taken = 0;
+        for (long resource : busy) taken |= resource;
+        long feasible = WeekGrid.windowFree(~taken, duration) & starts;
+
+        long[] blocking = new long[busy.length];
+        for (int type = 0; type < busy.length; type++) {
+            blocking[type] = ~WeekGrid.windowFree(~busy[type], duration) & starts;
+        }
+
+        double[] scores = new double[WeekGrid.CELLS];
+        Arrays.fill(scores, Double.NaN);
+        for (long open = feasible; open != 0; open &= open - 1) {
+            int cell = Long.numberOfTrailingZeros(open);
+            TimeSlot slot = WeekGrid.slotAt(cell, duration, lab);
+            scores[cell] = 100.0 / (1.0 + scorer.additionPenalty(timetable, course, instructor, slot, lab));
+        }
+
+        return new SlotHeatmap(WeekGrid.DAYS, WeekGrid.FIRST_HOUR, WeekGrid.HOURS, duration, feasible, blocking, scores);
+    }
+}
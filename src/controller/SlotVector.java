@@ -0,0 +1,101 @@
+package controller;
+
+import model.CourseSchedule;
+import model.Timetable;
+import java.util.Arrays;
+
+// Compact per-session slot assignment of a timetable, used to tell how different two suggestions are.
+// The slot of every session is packed into a fixed-width lane (8, 16 or 32 bits, the narrowest that fits
+// the slot count) of a long array. Lecture sessions of a course are interchangeable, so their slots are
+// stored sorted. The Hamming distance, the number of sessions placed in different slots, is counted a
+// whole word at a time: XOR two words, turn every non-zero lane into its high bit and count those bits.
+public class SlotVector {
+    private final long[] words;
+    private final int laneBits;
+    private final int sessions;
+
+    private SlotVector(long[] words, int laneBits, int sessions) {
+        this.words = words;
+        this.laneBits = laneBits;
+        this.sessions = sessions;
+    }
+
+    // Slot vector of a timetable over the sessions of a compiled problem; unplaced sessions get their own value
+    public static SlotVector encode(SchedulingProblem problem, Timetable timetable) {
+        int[] slotOf = new int[problem.sessionCount];
+        Arrays.fill(slotOf, -1);
+        int[] lectureFill = new int[problem.courses.length];
+
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            int course = problem.indexOfCourse(schedule.getCourse());
+            int slot = problem.indexOfSlot(schedule.getTimeSlot());
+            if (course < 0 || slot < 0) {
+                continue;
+            }
+            int[] courseSessions = problem.courseSessions[course];
+            int lectures = problem.courses[course].getLectureHours();
+            if (schedule.isLab()) {
+                if (courseSessions.length > lectures) {
+                    slotOf[courseSessions[lectures]] = slot;
+                }
+            } else if (lectureFill[course] < lectures) {
+                slotOf[courseSessions[lectureFill[course]++]] = slot;
+            }
+        }
+
+        // Lecture sessions of a course are numbered consecutively
+        for (int c = 0; c < problem.courses.length; c++) {
+            int lectures = problem.courses[c].getLectureHours();
+            if (lectures > 1) {
+                int first = problem.courseSessions[c][0];
+                Arrays.sort(slotOf, first, first + lectures);
+            }
+        }
+
+        int laneBits = problem.slots.length < 0xFF ? 8 : problem.slots.length < 0xFFFF ? 16 : 32;
+        int lanesPerWord = 64 / laneBits;
+        long unplaced = (1L << laneBits) - 1;
+        long[] words = new long[(problem.sessionCount + lanesPerWord - 1) / lanesPerWord];
+        for (int s = 0; s < problem.sessionCount; s++) {
+            long lane = slotOf[s] < 0 ? unplaced : slotOf[s];
+            words[s / lanesPerWord] |= lane << ((s % lanesPerWord) * laneBits);
+        }
+        return new SlotVector(words, laneBits, problem.sessionCount);
+    }
+
+    public int getSessionCount() {
+        return sessions;
+    }
+
+    // Number of sessions in different slots, counting stops once limit is reached.
+    // Vectors of different problems are as far apart as possible.
+    public int distance(SlotVector other, int limit) {
+        if (other.laneBits != laneBits || other.words.length != words.length) {
+            return Math.max(sessions, other.sessions);
+        }
+        long high = highBits(laneBits);
+        long low = ~high;
+        int distance = 0;
+        for (int w = 0; w < words.length && distance < limit; w++) {
+            long diff = words[w] ^ other.words[w];
+            // (diff & low) + low carries into the high bit of a lane iff its low bits are non-zero
+            distance += Long.bitCount((((diff & low) + low) | diff) & high);
+        }
+        return distance;
+    }
+
+    public int distance(SlotVector other) {
+        return distance(other, Integer.MAX_VALUE);
+    }
+
+    private static long highBits(int laneBits) {
+        switch (laneBits) {
+            case 8:
+                return 0x8080808080808080L;
+            case 16:
+                return 0x8000800080008000L;
+            default:
+                return 0x8000000080000000L;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package controller;
+
+import model.Timetable;
+import util.Constants;
+import java.util.List;
+
+// Limits of a single scheduler call, checked cooperatively by the solver.
+// Candidates are built in chunks small enough to stay under the retained-candidate and memory limits,
+// and construction and improvement stop at the wall-time deadline. Hitting a limit never fails a run:
+// the best suggestions found so far are returned.
+public class SolverBudget {
+    // Rough heap footprint of a timetable and of each of its schedules (object headers, references, list slot)
+    static final long TIMETABLE_BYTES = 256;
+    static final long SCHEDULE_BYTES = 72;
+
+    private final long maxWallMillis;
+    private final int maxRetainedCandidates;
+    private final long maxRetainedBytes;
+
+    public SolverBudget(long maxWallMillis, int maxRetainedCandidates, long maxRetainedBytes) {
+        if (maxWallMillis <= 0 || maxRetainedCandidates <= 0 || maxRetainedBytes <= 0) {
+            throw new IllegalArgumentException("Solver budget limits must be positive");
+        }
+        this.maxWallMillis = maxWallMillis;
+        this.maxRetainedCandidates = maxRetainedCandidates;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    // Limits from Constants, with the memory ceiling capped at a share of the JVM heap
+    public static SolverBudget defaults() {
+        long heapShare = Runtime.getRuntime().maxMemory() / Constants.SOLVER_HEAP_SHARE_DIVISOR;
+        return new SolverBudget(Constants.SOLVER_MAX_WALL_MILLIS, Constants.SOLVER_MAX_RETAINED_CANDIDATES,
+                Math.max(1, Math.min(Constants.SOLVER_MAX_RETAINED_BYTES, heapShare)));
+    }
+
+    public long getMaxWallMillis() {
+        return maxWallMillis;
+    }
+
+    public int getMaxRetainedCandidates() {
+        return maxRetainedCandidates;
+    }
+
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    // System.nanoTime() value after which a call started at startNanos must stop searching
+    public long deadline(long startNanos) {
+        long nanos = maxWallMillis * 1_000_000L;
+        return nanos / 1_000_000L == maxWallMillis ? startNanos + nanos : Long.MAX_VALUE;
+    }
+
+    // How many candidates may be held at once next to the already retained bytes; 0 if none fit
+    public int candidateChunk(long retainedBytes, long bytesPerCandidate) {
+        long free = maxRetainedBytes - retainedBytes;
+        if (free < bytesPerCandidate) {
+            return 0;
+        }
+        return (int) Math.min(maxRetainedCandidates, free / Math.max(1, bytesPerCandidate));
+    }
+
+    // Estimated heap held by a timetable with the given number of schedules
+    public static long estimateBytes(int scheduleCount) {
+        return TIMETABLE_BYTES + SCHEDULE_BYTES * scheduleCount;
+    }
+
+    // Estimated heap held by a list of timetables
+    public static long estimateBytes(List<Timetable> timetables) {
+        long total = 0;
+        for (Timetable timetable : timetables) {
+            total += estimateBytes(timetable.getSchedules().size());
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ms, %d candidates, %d bytes", maxWallMillis, maxRetainedCandidates, maxRetainedBytes);
+    }
+}
@@ -0,0 +1,321 @@
+package controller;
+
+import model.*;
+import util.Constants;
+import util.FileUtils;
+import java.io.*;
+import java.nio.file.Files;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Memoizes scheduler runs keyed by a canonical hash of their inputs.
+// Entries are kept in a small in-memory LRU and as compact index-encoded files under data/cache,
+// evicting the least recently used file once the limit is exceeded.
+public class SuggestionCache {
+    private static final int MAGIC = 0x54534743; // "TSGC"
+    private static final int FORMAT_VERSION = 3;
+
+    private final String directory;
+    private final int maxEntries;
+    private final LinkedHashMap<String, byte[]> memory;
+
+    public SuggestionCache() {
+        this(Constants.CACHE_DIR, Constants.MAX_CACHED_RUNS);
+    }
+
+    public SuggestionCache(String directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.memory = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > SuggestionCache.this.maxEntries;
+            }
+        };
+    }
+
+    // Canonical SHA-256 of everything that influences a scheduler run; input order does not matter.
+    // Covers the inputs, the policy constants, the settings of the scheduler that will run and its
+    // SOLVER_VERSION, so entries made with other settings or by older scheduling code are never served.
+    public String computeKey(List<Course> courses, List<Instructor> instructors, List<Classroom> classrooms,
+                             List<TimeSlot> availableTimeSlots, int numberOfSuggestions, long seed,
+                             AutoScheduler scheduler) {
+        CanonicalInput input = new CanonicalInput(courses, instructors, classrooms, availableTimeSlots);
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+            try (DataOutputStream out = new DataOutputStream(
+                    new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+                out.writeInt(FORMAT_VERSION);
+
+                out.writeInt(input.courses.size());
+                for (Course course : input.courses) {
+                    writeString(out, course.getCourseCode());
+                    out.writeInt(course.getCredits());
+                    out.writeInt(course.getLectureHours());
+                    out.writeInt(course.getLabHours());
+                    writeSlots(out, course.getPreferredTimeSlots());
+                }
+
+                out.writeInt(input.instructors.size());
+                for (Instructor instructor : input.instructors) {
+                    writeString(out, instructor.getId());
+                    writeSortedStrings(out, instructor.getCourses());
+                    writeSlots(out, instructor.getPreferredTimeSlots());
+                }
+
+                out.writeInt(input.classrooms.size());
+                for (Classroom classroom : input.classrooms) {
+                    writeString(out, classroom.getRoomNumber());
+                    out.writeInt(classroom.getCapacity());
+                    out.writeBoolean(classroom.hasProjector());
+                    out.writeBoolean(classroom.hasAC());
+                    writeSortedStrings(out, classroom.getAdditionalFacilities());
+                }
+
+                out.writeInt(input.slots.size());
+                for (TimeSlot slot : input.slots) {
+                    writeSlot(out, slot);
+                }
+
+                // Policy settings
+                out.writeBoolean(Constants.REQUIRE_DAY_GAP);
+                out.writeInt(Constants.MAX_CONSECUTIVE_HOURS);
+                out.writeInt(Constants.MAX_DAILY_HOURS);
+                out.writeInt(Constants.MAX_INSTRUCTOR_WEEKLY_HOURS);
+                out.writeInt(numberOfSuggestions);
+                out.writeLong(seed);
+
+                // Solver settings
+                out.writeInt(AutoScheduler.SOLVER_VERSION);
+                out.writeBoolean(scheduler.isTwoPhase());
+                out.writeBoolean(scheduler.isPreassignInstructors());
+                out.writeInt(scheduler.getMinSuggestionDistance());
+                out.writeInt(Constants.MIN_SUGGESTION_DISTANCE_PERCENT);
+                out.writeInt(Constants.CANDIDATES_PER_SUGGESTION);
+                out.writeInt(Constants.LNS_ITERATIONS);
+            }
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("Unable to hash scheduler input", e);
+        }
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    // Look up a previous run; returns fresh Timetable objects bound to the given inputs, or null on a miss
+    public synchronized List<Timetable> get(String key, List<Course> courses, List<Instructor> instructors,
+                                            List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
+        byte[] data = memory.get(key);
+        File file = cacheFile(key);
+
+        if (data == null && file.exists()) {
+            try {
+                data = Files.readAllBytes(file.toPath());
+                memory.put(key, data);
+            } catch (IOException e) {
+                System.err.println("Error reading cached suggestions: " + e.getMessage());
+                return null;
+            }
+        }
+
+        if (data == null) {
+            return null;
+        }
+
+        // Touch the file so disk eviction follows access order
+        if (file.exists()) {
+            file.setLastModified(System.currentTimeMillis());
+        }
+
+        try {
+            return decode(data, new CanonicalInput(courses, instructors, classrooms, availableTimeSlots));
+        } catch (IOException | IndexOutOfBoundsException e) {
+            // Stale or corrupt entry, drop it
+            memory.remove(key);
+            FileUtils.deleteFile(file.getPath());
+            return null;
+        }
+    }
+
+    // Store the suggestions of a run
+    public synchronized void put(String key, List<Timetable> suggestions, List<Course> courses,
+                                 List<Instructor> instructors, List<Classroom> classrooms,
+                                 List<TimeSlot> availableTimeSlots) {
+        byte[] data;
+        try {
+            data = encode(suggestions, new CanonicalInput(courses, instructors, classrooms, availableTimeSlots));
+        } catch (IOException e) {
+            System.err.println("Error encoding suggestions for cache: " + e.getMessage());
+            return;
+        }
+
+        memory.put(key, data);
+
+        if (!FileUtils.ensureDirectoryExists(directory)) {
+            return;
+        }
+        try {
+            Files.write(cacheFile(key).toPath(), data);
+        } catch (IOException e) {
+            System.err.println("Error writing cached suggestions: " + e.getMessage());
+            return;
+        }
+        evictFiles();
+    }
+
+    // Remove all cached runs
+    public synchronized void clear() {
+        memory.clear();
+        File[] files = listCacheFiles();
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private void evictFiles() {
+        File[] files = listCacheFiles();
+        if (files.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            files[i].delete();
+        }
+    }
+
+    private File[] listCacheFiles() {
+        File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(Constants.CACHE_EXTENSION));
+        return files != null ? files : new File[0];
+    }
+
+    private File cacheFile(String key) {
+        return new File(directory, key + Constants.CACHE_EXTENSION);
+    }
+
+    // Suggestions are stored as int indexes into the canonical (sorted) input lists
+    private byte[] encode(List<Timetable> suggestions, CanonicalInput input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(suggestions.size());
+            for (Timetable timetable : suggestions) {
+                writeString(out, timetable.getName());
+                out.writeDouble(timetable.getScore());
+                List<CourseSchedule> schedules = timetable.getSchedules();
+                out.writeInt(schedules.size());
+                for (CourseSchedule schedule : schedules) {
+                    out.writeInt(indexOf(input.courseIndex, schedule.getCourse()));
+                    out.writeInt(indexOf(input.instructorIndex, schedule.getInstructor()));
+                    out.writeInt(indexOf(input.classroomIndex, schedule.getClassroom()));
+                    out.writeInt(indexOf(input.slotIndex, slotKey(schedule.getTimeSlot())));
+                    out.writeBoolean(schedule.isLab());
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<Timetable> decode(byte[] data, CanonicalInput input) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unrecognised cache entry");
+            }
+            int count = in.readInt();
+            List<Timetable> suggestions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Timetable timetable = new Timetable(in.readUTF());
+                timetable.setScore(in.readDouble());
+                int scheduleCount = in.readInt();
+                List<CourseSchedule> schedules = new ArrayList<>(scheduleCount);
+                for (int j = 0; j < scheduleCount; j++) {
+                    Course course = input.courses.get(in.readInt());
+                    Instructor instructor = input.instructors.get(in.readInt());
+                    Classroom classroom = input.classrooms.get(in.readInt());
+                    TimeSlot slot = input.slots.get(in.readInt());
+                    boolean isLab = in.readBoolean();
+                    schedules.add(new CourseSchedule(course, instructor, classroom, slot, isLab));
+                }
+                // Entries were conflict-free when stored, so skip the per-insert checks
+                timetable.setSchedules(schedules);
+                suggestions.add(timetable);
+            }
+            return suggestions;
+        }
+    }
+
+    private static <T> int indexOf(Map<T, Integer> index, T value) throws IOException {
+        Integer position = index.get(value);
+        if (position == null) {
+            throw new IOException("Suggestion refers to an entity outside the run input: " + value);
+        }
+        return position;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeUTF(value != null ? value : "");
+    }
+
+    private static void writeSortedStrings(DataOutputStream out, String[] values) throws IOException {
+        String[] sorted = values != null ? values.clone() : new String[0];
+        Arrays.sort(sorted, Comparator.nullsFirst(Comparator.naturalOrder()));
+        out.writeInt(sorted.length);
+        for (String value : sorted) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeSlots(DataOutputStream out, TimeSlot[] slots) throws IOException {
+        out.writeInt(slots != null ? slots.length : 0);
+        if (slots != null) {
+            for (TimeSlot slot : slots) {
+                writeSlot(out, slot);
+            }
+        }
+    }
+
+    private static void writeSlot(DataOutputStream out, TimeSlot slot) throws IOException {
+        out.writeUTF(slotKey(slot));
+    }
+
+    private static String slotKey(TimeSlot slot) {
+        return slot.getDay().getValue() + "|" + slot.getStartTime() + "|" + slot.getEndTime() + "|" + slot.isLabSlot();
+    }
+
+    // Inputs sorted by their natural keys, with reverse lookups for encoding
+    private static class CanonicalInput {
+        final List<Course> courses;
+        final List<Instructor> instructors;
+        final List<Classroom> classrooms;
+        final List<TimeSlot> slots;
+        final Map<Course, Integer> courseIndex = new HashMap<>();
+        final Map<Instructor, Integer> instructorIndex = new HashMap<>();
+        final Map<Classroom, Integer> classroomIndex = new HashMap<>();
+        final Map<String, Integer> slotIndex = new HashMap<>();
+
+        CanonicalInput(List<Course> courses, List<Instructor> instructors, List<Classroom> classrooms,
+                       List<TimeSlot> slots) {
+            this.courses = new ArrayList<>(courses);
+            this.courses.sort(Comparator.comparing(Course::getCourseCode, Comparator.nullsFirst(Comparator.naturalOrder())));
+            this.instructors = new ArrayList<>(instructors);
+            this.instructors.sort(Comparator.comparing(Instructor::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+            this.classrooms = new ArrayList<>(classrooms);
+            this.classrooms.sort(Comparator.comparing(Classroom::getRoomNumber, Comparator.nullsFirst(Comparator.naturalOrder())));
+            this.slots = new ArrayList<>(slots);
+            this.slots.sort(Comparator.comparing(SuggestionCache::slotKey));
+
+            for (int i = 0; i < this.courses.size(); i++) courseIndex.put(this.courses.get(i), i);
+            for (int i = 0; i < this.instructors.size(); i++) instructorIndex.put(this.instructors.get(i), i);
+            for (int i = 0; i < this.classrooms.size(); i++) classroomIndex.put(this.classrooms.get(i), i);
+            for (int i = 0; i < this.slots.size(); i++) slotIndex.putIfAbsent(slotKey(this.slots.get(i)), i);
+        }
+    }
+}
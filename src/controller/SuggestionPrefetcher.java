@@ -0,0 +1,160 @@
+package controller;
+
+import model.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Lazily generates timetable suggestions on a background worker.
+// While suggestion k is viewed, suggestions k+1..k+window are produced ahead of time,
+// up to a fixed budget of suggestions per run. Batches always ask for window suggestions (fewer only at the
+// budget), never for however many the viewer happens to be behind, so batch sizes, candidate counts and the
+// seeds derived from them are the same for a seed whatever the click timing. The idle listener only hears about runs in which no batch
+// was cut short by the solver budget, so a degraded run is never persisted as the full answer.
+public class SuggestionPrefetcher {
+    private final AutoScheduler scheduler;
+    private final List<Course> courses;
+    private final List<Instructor> instructors;
+    private final List<Classroom> classrooms;
+    private final List<TimeSlot> availableTimeSlots;
+    private final int window;
+    private final int budget;
+    private final int candidatesPerSuggestion;
+    private final Consumer<List<Timetable>> idleListener;
+    private final ExecutorService executor;
+
+    private final List<Timetable> suggestions;
+    private int target;
+    private boolean running;
+    private boolean exhausted;
+    private boolean cancelled;
+    private boolean truncated; // Some batch stopped early on the wall-time, candidate or memory budget
+
+    public SuggestionPrefetcher(AutoScheduler scheduler, List<Course> courses, List<Instructor> instructors,
+                                List<Classroom> classrooms, List<TimeSlot> availableTimeSlots,
+                                List<Timetable> initialSuggestions, int window, int budget,
+                                int candidatesPerSuggestion, Consumer<List<Timetable>> idleListener) {
+        this.scheduler = scheduler;
+        this.courses = new ArrayList<>(courses);
+        this.instructors = new ArrayList<>(instructors);
+        this.classrooms = new ArrayList<>(classrooms);
+        this.availableTimeSlots = new ArrayList<>(availableTimeSlots);
+        this.window = Math.max(1, window);
+        this.budget = budget;
+        this.candidatesPerSuggestion = candidatesPerSuggestion;
+        this.idleListener = idleListener;
+        this.suggestions = new ArrayList<>(initialSuggestions);
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggestion-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Make sure suggestions up to index + window are being generated
+    public synchronized void prefetchThrough(int index) {
+        target = Math.max(target, Math.min(budget, index + 1 + window));
+        if (!running && !exhausted && !cancelled && suggestions.size() < target) {
+            running = true;
+            executor.submit(this::fill);
+        }
+    }
+
+    // Get the suggestion at index, waiting for the worker if it is still being generated.
+    // Returns null if the generator cannot produce that many suggestions.
+    public synchronized Timetable get(int index) {
+        prefetchThrough(index);
+        while (index >= suggestions.size() && running) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return index < suggestions.size() ? suggestions.get(index) : null;
+    }
+
+    // Whether a suggestion after index is available or may still be generated
+    public synchronized boolean hasMore(int index) {
+        return index < suggestions.size() - 1 || (!exhausted && !cancelled && suggestions.size() < budget);
+    }
+
+    public synchronized int size() {
+        return suggestions.size();
+    }
+
+    public synchronized boolean isExhausted() {
+        return exhausted;
+    }
+
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    // Stop generating; the worker finishes its current attempt and exits
+    public synchronized void cancel() {
+        cancelled = true;
+        executor.shutdownNow();
+        notifyAll();
+    }
+
+    private void fill() {
+        boolean added = false;
+        boolean completed = false;
+        List<Timetable> finished = null;
+
+        try {
+            while (true) {
+                List<Timetable> snapshot;
+                int wanted;
+                synchronized (this) {
+                    if (cancelled || exhausted || suggestions.size() >= target) {
+                        completed = true;
+                        if (cancelled) {
+                            return;
+                        }
+                        finished = added && !truncated ? new ArrayList<>(suggestions) : null;
+                        break;
+                    }
+                    snapshot = new ArrayList<>(suggestions);
+                    wanted = Math.min(window, budget - suggestions.size());
+                }
+
+                // Each batch is the best of wanted * candidatesPerSuggestion candidates
+                SchedulerResult result = scheduler.generateRankedResult(courses, instructors, classrooms,
+                        availableTimeSlots, snapshot, wanted, wanted * candidatesPerSuggestion);
+                List<Timetable> batch = result.getSuggestions();
+
+                synchronized (this) {
+                    if (result.isTruncated()) {
+                        truncated = true;
+                    }
+                    if (batch.isEmpty()) {
+                        exhausted = true;
+                    } else if (!cancelled) {
+                        suggestions.addAll(batch);
+                        added = true;
+                    }
+                    notifyAll();
+                }
+            }
+        } finally {
+            // Never leave get() waiting on a worker that died: a failed run produces nothing more
+            synchronized (this) {
+                running = false;
+                if (!completed) {
+                    exhausted = true;
+                }
+                notifyAll();
+            }
+        }
+
+        if (finished != null && idleListener != null) {
+            idleListener.accept(finished);
+        }
+    }
+}
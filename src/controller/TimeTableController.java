@@ -1,21 +1,69 @@
 package controller;
 
 import model.*;
+import util.Constants;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.stream.Collectors;
 
 
 public class TimeTableController {
     private TimetableDAO timetableDAO;
     private Timetable currentTimetable;
-    private List<Timetable> generatedTimetables; // For storing auto-generated suggestions
+    private SuggestionPrefetcher suggestionPrefetcher; // Lazily generates auto suggestions
     private int currentSuggestionIndex;
+    private FeasibilityReport lastFeasibilityReport;
+    private SuggestionCache suggestionCache;
+    private long solverSeed;
+    private SolverBudget solverBudget;
+    private AutoScheduler lastScheduler;
+    private PlacementExplainer placementExplainer;
+    private SlotHeatmapBuilder slotHeatmapBuilder;
+    private FreeSlotFinder freeSlotFinder;
+    private ConflictChecker conflictChecker; // Shares one policy engine across checks
 
     public TimeTableController() {
         timetableDAO = new TimetableDAO();
         currentTimetable = new Timetable("Default");
-        generatedTimetables = new ArrayList<>();
         currentSuggestionIndex = -1;
+        suggestionCache = new SuggestionCache();
+        solverSeed = Constants.DEFAULT_SOLVER_SEED;
+        solverBudget = SolverBudget.defaults();
+        placementExplainer = new PlacementExplainer();
+        slotHeatmapBuilder = new SlotHeatmapBuilder();
+        freeSlotFinder = new FreeSlotFinder();
+        conflictChecker = new ConflictChecker(PolicyEngine.withDefaultRules());
+    }
+
+    /**
+     * Get the seed used for auto scheduling runs
+     * @return The solver seed
+     */
+    public long getSolverSeed() {
+        return solverSeed;
+    }
+
+    /**
+     * Set the seed for subsequent auto scheduling runs; the same seed and inputs give the same suggestions
+     * @param solverSeed The solver seed
+     */
+    public void setSolverSeed(long solverSeed) {
+        this.solverSeed = solverSeed;
+    }
+    /**
+     * Get the time and memory limits applied to each auto scheduling batch
+     * @return The solver budget
+     */
+    public SolverBudget getSolverBudget() {
+        return solverBudget;
+    }
+
+    /**
+     * Set the limits for subsequent auto scheduling runs; a run that hits them returns the best suggestions so far
+     * @param solverBudget The solver budget
+     */
+    public void setSolverBudget(SolverBudget solverBudget) {
+        this.solverBudget = solverBudget;
     }
     /**
      * Get the current suggestion index
@@ -68,22 +116,7 @@ public class TimeTableController {
         }
         return classrooms;
     }
-    /**
-     * Get all courses in the current timetable
-     * @return List of all courses
-     */
-
 
-    /**
-     * Get all instructors in the current timetable
-     * @return List of all instructors
-     */
-
-
-    /**
-     * Get all classrooms in the current timetable
-     * @return List of all classrooms
-     */
     // Timetable management methods
     public Timetable getCurrentTimetable() {
         return currentTimetable;
@@ -129,6 +162,49 @@ public class TimeTableController {
         return currentTimetable.addSchedule(schedule);
     }
 
+    /**
+     * Explain why a schedule cannot be added to the current timetable
+     * @param schedule The placement to check
+     * @param classrooms Classrooms the session may move to
+     * @return The sessions in the way and the nearest free alternatives, feasible if nothing blocks it
+     */
+    public PlacementExplanation explainPlacement(CourseSchedule schedule, List<Classroom> classrooms) {
+        return placementExplainer.explain(currentTimetable, schedule, classrooms);
+    }
+
+    /**
+     * Check the day-gap policy for one course of the current timetable, in constant time
+     * @param course The course that was edited
+     * @return true if two lectures or two labs of the course are on adjacent days
+     */
+    public boolean violatesDayGap(Course course) {
+        return currentTimetable.violatesDayGap(course);
+    }
+
+    /**
+     * Build the availability heatmap of one session over the weekly grid of the current timetable
+     * @param course The course of the session
+     * @param instructor The instructor teaching it
+     * @param classroom The classroom it would use
+     * @param durationHours Length of the session
+     * @param isLab Whether it is a lab session
+     * @return Feasibility, blocking resources and placement score of every start in the grid
+     */
+    public SlotHeatmap getSlotHeatmap(Course course, Instructor instructor, Classroom classroom,
+                                      int durationHours, boolean isLab) {
+        return slotHeatmapBuilder.build(currentTimetable, course, instructor, classroom, durationHours, isLab);
+    }
+
+    /**
+     * Find every room and time where one more session fits in the current timetable
+     * @param query The session, with its instructor, room requirements and result limit
+     * @param classrooms Classrooms to search
+     * @return Free (room, slot) pairs, best ranked first
+     */
+    public List<FreeSlot> findFreeSlots(FreeSlotQuery query, List<Classroom> classrooms) {
+        return freeSlotFinder.find(currentTimetable, classrooms, query);
+    }
+
     public boolean removeSchedule(CourseSchedule schedule) {
         return currentTimetable.removeSchedule(schedule);
     }
@@ -152,23 +228,68 @@ public class TimeTableController {
     // Timetable suggestion methods
     public void generateTimetableSuggestions(List<Course> courses, List<Instructor> instructors,
                                              List<Classroom> classrooms, List<TimeSlot> availableTimeSlots) {
-        // Clear previous suggestions
-        generatedTimetables.clear();
+        // Stop prefetching for the previous run
+        if (suggestionPrefetcher != null) {
+            suggestionPrefetcher.cancel();
+            suggestionPrefetcher = null;
+        }
         currentSuggestionIndex = -1;
 
-        // Use AutoScheduler to generate suggestions
-        AutoScheduler scheduler = new AutoScheduler();
-        generatedTimetables = scheduler.generateSuggestions(
-                courses, instructors, classrooms, availableTimeSlots, 5); // Generate 5 suggestions
+        AutoScheduler scheduler = new AutoScheduler(solverSeed);
+        scheduler.setBudget(solverBudget);
+        lastScheduler = scheduler;
+
+        // Reuse an earlier run with identical inputs, seed and solver settings if one is cached
+        String cacheKey = suggestionCache.computeKey(courses, instructors, classrooms, availableTimeSlots,
+                Constants.MAX_SUGGESTIONS, solverSeed, scheduler);
+        List<Timetable> cached = suggestionCache.get(cacheKey, courses, instructors, classrooms, availableTimeSlots);
+        if (cached != null) {
+            lastFeasibilityReport = null;
+            for (Timetable suggestion : cached) {
+                suggestion.setSeed(solverSeed);
+            }
+        } else {
+            lastFeasibilityReport = scheduler.checkFeasibility(courses, instructors, classrooms, availableTimeSlots);
+            if (!lastFeasibilityReport.isFeasible()) {
+                return;
+            }
+            cached = new ArrayList<>();
+        }
+
+        // Suggestions are generated lazily; whenever the worker goes idle the run so far is cached,
+        // unless the solver budget cut a batch short (the key does not include the budget)
+        suggestionPrefetcher = new SuggestionPrefetcher(scheduler, courses, instructors, classrooms,
+                availableTimeSlots, cached, Constants.SUGGESTION_PREFETCH_WINDOW, Constants.MAX_SUGGESTIONS,
+                Constants.CANDIDATES_PER_SUGGESTION,
+                generated -> suggestionCache.put(cacheKey, generated, courses, instructors, classrooms, availableTimeSlots));
 
-        if (!generatedTimetables.isEmpty()) {
+        // Only the first suggestion is waited for, the rest are prefetched in the background
+        Timetable first = suggestionPrefetcher.get(0);
+        if (first != null) {
             currentSuggestionIndex = 0;
-            currentTimetable = generatedTimetables.get(0);
+            currentTimetable = first;
         }
     }
 
+    /**
+     * Get the feasibility analysis of the last suggestion run
+     * @return The report, or null if no suggestions have been generated yet
+     */
+    public FeasibilityReport getLastFeasibilityReport() {
+        return lastFeasibilityReport;
+    }
+
+    /**
+     * Get the search statistics of the last suggestion run, including suggestions prefetched so far
+     * @return The statistics, or null if no suggestions have been generated yet
+     */
+    public SchedulerStatistics getLastSchedulerStatistics() {
+        return lastScheduler == null ? null : lastScheduler.getStatistics();
+    }
+
     public boolean hasNextSuggestion() {
-        return currentSuggestionIndex < generatedTimetables.size() - 1;
+        return suggestionPrefetcher != null && currentSuggestionIndex >= 0 &&
+                suggestionPrefetcher.hasMore(currentSuggestionIndex);
     }
 
     public boolean hasPreviousSuggestion() {
@@ -177,9 +298,13 @@ public class TimeTableController {
 
     public Timetable nextSuggestion() {
         if (hasNextSuggestion()) {
-            currentSuggestionIndex++;
-            currentTimetable = generatedTimetables.get(currentSuggestionIndex);
-            return currentTimetable;
+            // Waits only if the worker has not produced this suggestion yet
+            Timetable next = suggestionPrefetcher.get(currentSuggestionIndex + 1);
+            if (next != null) {
+                currentSuggestionIndex++;
+                currentTimetable = next;
+                return currentTimetable;
+            }
         }
         return null;
     }
@@ -187,7 +312,7 @@ public class TimeTableController {
     public Timetable previousSuggestion() {
         if (hasPreviousSuggestion()) {
             currentSuggestionIndex--;
-            currentTimetable = generatedTimetables.get(currentSuggestionIndex);
+            currentTimetable = suggestionPrefetcher.get(currentSuggestionIndex);
             return currentTimetable;
         }
         return null;
@@ -214,7 +339,55 @@ public class TimeTableController {
     }
 
     public List<String> getPolicyViolations() {
-        ConflictChecker checker = new ConflictChecker();
-        return checker.checkBITSPolicyCompliance(currentTimetable);
+        return conflictChecker.checkBITSPolicyCompliance(currentTimetable);
+    }
+
+    /**
+     * Get the policy violations of the current timetable with their rule, severity and entities
+     * @return List of violations, in the same order as getPolicyViolations
+     */
+    public List<PolicyViolation> getPolicyViolationDetails() {
+        return conflictChecker.policyViolations(currentTimetable).collect(Collectors.toList());
+    }
+
+    /**
+     * Check whether the current timetable breaks a hard policy, stopping after the first rule that reports one
+     * @return true if there is at least one hard violation
+     */
+    public boolean hasHardPolicyViolation() {
+        return conflictChecker.hasHardPolicyViolation(currentTimetable);
+    }
+
+    /**
+     * Evaluate every policy rule on the current timetable in one pass
+     * @return The violations together with the time and hit count of each rule
+     */
+    public PolicyReport evaluatePolicies() {
+        return conflictChecker.getPolicyEngine().evaluate(currentTimetable);
+    }
+
+    /**
+     * Get the per-rule running time and hit totals of every policy check made through this controller
+     * @return One entry per rule
+     */
+    public List<PolicyRuleStatistics> getPolicyStatistics() {
+        return conflictChecker.getPolicyEngine().getStatistics();
+    }
+
+    /**
+     * Check conflicts and BITS policies of several timetables in parallel
+     * @param timetables The timetables to validate
+     * @return One report per timetable, in the given order, with the timing of the batch
+     */
+    public BatchValidationResult validateTimetables(List<Timetable> timetables) {
+        return new BatchValidator().validate(timetables);
+    }
+
+    /**
+     * Load every saved timetable and check conflicts and BITS policies of all of them in parallel
+     * @return One report per saved timetable, with the timing of the batch
+     */
+    public BatchValidationResult validateSavedTimetables() {
+        return new BatchValidator().validateSaved(timetableDAO, timetableDAO.getAllTimetableNames());
     }
 }
@@ -0,0 +1,114 @@
+package controller;
+
+import model.*;
+import util.Constants;
+import util.TimeUtils;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Scores a timetable between 0 and 100 (higher is better) for ranking suggestions.
+// Penalties accumulate per session and are normalised by the number of sessions.
+public class TimetableScorer {
+    private static final double PREFERENCE_PENALTY = 1.0;
+    private static final double EDGE_HOUR_PENALTY = 0.5;
+    private static final double OVERLOAD_PENALTY_PER_HOUR = 2.0;
+    private static final double DAY_GAP_PENALTY = 10.0;
+    private static final double DAY_BALANCE_WEIGHT = 0.25;
+
+    public double score(Timetable timetable) {
+        List<CourseSchedule> schedules = timetable.getSchedules();
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+
+        double penalty = 0;
+        Map<Instructor, Integer> instructorMinutes = new HashMap<>();
+        int[] sessionsPerDay = new int[8];
+
+        for (CourseSchedule schedule : schedules) {
+            TimeSlot slot = schedule.getTimeSlot();
+
+            penalty += placementPenalty(schedule.getCourse(), schedule.getInstructor(), slot);
+
+            instructorMinutes.merge(schedule.getInstructor(),
+                    TimeUtils.getDurationMinutes(slot.getStartTime(), slot.getEndTime()), Integer::sum);
+            sessionsPerDay[slot.getDay().getValue()]++;
+        }
+
+        for (int minutes : instructorMinutes.values()) {
+            int excess = minutes - Constants.MAX_INSTRUCTOR_WEEKLY_HOURS * 60;
+            if (excess > 0) {
+                penalty += OVERLOAD_PENALTY_PER_HOUR * excess / 60.0;
+            }
+        }
+
+        if (!timetable.validateBITSPolicies()) {
+            penalty += DAY_GAP_PENALTY;
+        }
+
+        // Prefer an even spread of sessions across the working week
+        double mean = schedules.size() / 5.0;
+        double variance = 0;
+        for (int day = 1; day <= 5; day++) {
+            variance += (sessionsPerDay[day] - mean) * (sessionsPerDay[day] - mean);
+        }
+        penalty += DAY_BALANCE_WEIGHT * variance / 5.0;
+
+        return 100.0 * schedules.size() / (schedules.size() + penalty);
+    }
+
+    // Penalty of a single session that depends only on where it is placed
+    public double placementPenalty(Course course, Instructor instructor, TimeSlot slot) {
+        return coursePlacementPenalty(course, slot) + instructorPlacementPenalty(instructor, slot);
+    }
+
+    // Penalty of adding one more session to a timetable: its placement penalty, plus the day-gap penalty if it
+    // puts two sessions of its course and type on adjacent days when there were none before.
+    // Without an instructor only the course part of the placement penalty counts.
+    public double additionPenalty(Timetable timetable, Course course, Instructor instructor, TimeSlot slot, boolean lab) {
+        double penalty = instructor == null ? coursePlacementPenalty(course, slot) : placementPenalty(course, instructor, slot);
+        int days = timetable.getDayMask(course, lab);
+        if (TimeUtils.adjacentDayPairs(days) == 0
+                && TimeUtils.adjacentDayPairs(days | TimeUtils.dayBit(slot.getDay())) != 0) {
+            penalty += DAY_GAP_PENALTY;
+        }
+        return penalty;
+    }
+
+    // Part of the placement penalty that depends on the course and slot
+    public double coursePlacementPenalty(Course course, TimeSlot slot) {
+        double penalty = 0;
+
+        // Sessions outside the stated preferences of the course
+        if (!matchesPreference(slot, course.getPreferredTimeSlots())) {
+            penalty += PREFERENCE_PENALTY;
+        }
+
+        // First and last hour of the day are the least popular
+        if (!slot.getStartTime().isAfter(Constants.TIMETABLE_START_TIME) ||
+                slot.getEndTime().isAfter(Constants.TIMETABLE_END_TIME.minusHours(1))) {
+            penalty += EDGE_HOUR_PENALTY;
+        }
+
+        return penalty;
+    }
+
+    // Part of the placement penalty that depends on the instructor and slot
+    public double instructorPlacementPenalty(Instructor instructor, TimeSlot slot) {
+        return matchesPreference(slot, instructor.getPreferredTimeSlots()) ? 0 : PREFERENCE_PENALTY;
+    }
+
+    // No preference counts as a match
+    private boolean matchesPreference(TimeSlot slot, TimeSlot[] preferred) {
+        if (preferred == null || preferred.length == 0) {
+            return true;
+        }
+        for (TimeSlot candidate : preferred) {
+            if (candidate.overlaps(slot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
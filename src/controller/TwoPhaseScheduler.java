@@ -0,0 +1,239 @@
+package controller;
+
+import util.FlowNetwork;
+import java.util.Arrays;
+import java.util.Random;
+
+// Two-phase timetable construction.
+// Phase 1 gives every session a slot and an instructor while treating rooms only as aggregate capacity:
+// in every time cell the sessions needing at least a given room size must not outnumber the rooms of that
+// size (eligible rooms are nested by capacity, so this is exactly Hall's condition per cell).
+// Phase 2 then walks the slots in time order and assigns rooms per slot with a min-cost matching whose
+// cost is the number of seats left empty, so an unlucky room draw can no longer reject a good slot.
+public class TwoPhaseScheduler {
+    private final SchedulingProblem problem;
+    private final Random random;
+
+    private final int classCount;
+    private final int[] sessionClass;   // room requirement class of each session
+    private final int[] classRooms;     // rooms available to a class and every stricter one
+    private final int[] slotOrder;      // slots by day, start time, longest first
+    private final int[] roomCost;       // sessions * rooms, seats wasted, -1 if not eligible
+
+    // Work buffers
+    private final int[] cellDemand;     // cells * classes
+    private final int[] shuffledSlots;
+    private final int[] slotSessions;
+
+    private SchedulerStatistics statistics = new SchedulerStatistics();
+
+    public TwoPhaseScheduler(SchedulingProblem problem, Random random) {
+        this.problem = problem;
+        this.random = random;
+
+        // Eligible rooms of a session are a suffix of the rooms sorted by capacity; classes are the distinct suffixes
+        int roomCount = problem.rooms.length;
+        int[] starts = new int[problem.sessionCount];
+        for (int s = 0; s < problem.sessionCount; s++) {
+            starts[s] = roomCount - problem.sessionRooms[s].length;
+        }
+        int[] distinct = Arrays.stream(starts).distinct().sorted().toArray();
+        classCount = distinct.length;
+        classRooms = new int[classCount];
+        for (int k = 0; k < classCount; k++) {
+            classRooms[k] = roomCount - distinct[k];
+        }
+        sessionClass = new int[problem.sessionCount];
+        for (int s = 0; s < problem.sessionCount; s++) {
+            sessionClass[s] = Arrays.binarySearch(distinct, starts[s]);
+        }
+
+        roomCost = new int[problem.sessionCount * roomCount];
+        Arrays.fill(roomCost, -1);
+        for (int s = 0; s < problem.sessionCount; s++) {
+            for (int r : problem.sessionRooms[s]) {
+                roomCost[s * roomCount + r] = Math.max(0, problem.rooms[r].getCapacity() - problem.sessionDemand[s]);
+            }
+        }
+
+        Integer[] order = new Integer[problem.slots.length];
+        for (int t = 0; t < order.length; t++) order[t] = t;
+        Arrays.sort(order, (a, b) -> {
+            int byDay = Integer.compare(problem.slotDay[a], problem.slotDay[b]);
+            if (byDay != 0) return byDay;
+            int byStart = Integer.compare(problem.slots[a].getStartMinute(), problem.slots[b].getStartMinute());
+            if (byStart != 0) return byStart;
+            return Integer.compare(problem.slots[b].getEndMinute(), problem.slots[a].getEndMinute());
+        });
+        slotOrder = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+
+        cellDemand = new int[Math.max(1, problem.cellCount) * classCount];
+        shuffledSlots = new int[problem.slots.length];
+        slotSessions = new int[problem.sessionCount];
+    }
+
+    // Counters of every following construct() call go to the given statistics
+    public void setStatistics(SchedulerStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    // Build a complete occupancy, or return null if either phase gets stuck
+    public Occupancy construct() {
+        Occupancy occupancy = new Occupancy(problem);
+        if (!assignSlots(occupancy) || !assignRooms(occupancy)) {
+            return null;
+        }
+        return occupancy;
+    }
+
+    // Phase 1: randomised greedy over sessions, most demanding courses first
+    boolean assignSlots(Occupancy occupancy) {
+        Arrays.fill(cellDemand, 0);
+
+        for (int session = 0; session < problem.sessionCount; session++) {
+            int[] candidates = problem.sessionSlots[session];
+            int count = candidates.length;
+            System.arraycopy(candidates, 0, shuffledSlots, 0, count);
+            int domain = 0;
+            for (int slot : candidates) {
+                if (occupancy.courseAllows(session, slot)) {
+                    domain++;
+                }
+            }
+            statistics.recordDomainSize(domain);
+
+            boolean placed = false;
+            for (int i = 0; i < count && !placed; i++) {
+                // Lazy Fisher-Yates: draw the next slot at random without reshuffling the rest
+                int j = i + random.nextInt(count - i);
+                int slot = shuffledSlots[j];
+                shuffledSlots[j] = shuffledSlots[i];
+                shuffledSlots[i] = slot;
+
+                statistics.recordAttempt();
+                if (!occupancy.courseAllows(session, slot)) {
+                    statistics.recordConflict(SchedulerStatistics.Resource.COURSE);
+                    continue;
+                }
+                if (!roomCapacityAllows(session, slot)) {
+                    statistics.recordConflict(SchedulerStatistics.Resource.ROOM);
+                    continue;
+                }
+                int instructor = freeInstructor(occupancy, session, slot);
+                if (instructor < 0) {
+                    statistics.recordConflict(SchedulerStatistics.Resource.INSTRUCTOR);
+                    continue;
+                }
+
+                occupancy.place(session, slot, -1, instructor);
+                addDemand(session, slot);
+                placed = true;
+            }
+
+            if (!placed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Phase 2: min-cost room assignment slot by slot, earlier slots first
+    boolean assignRooms(Occupancy occupancy) {
+        int roomCount = problem.rooms.length;
+
+        for (int slot : slotOrder) {
+            int count = 0;
+            for (int s = 0; s < problem.sessionCount; s++) {
+                if (occupancy.slotOf[s] == slot && occupancy.roomOf[s] < 0) {
+                    slotSessions[count++] = s;
+                }
+            }
+            if (count == 0) {
+                continue;
+            }
+
+            // source -> sessions -> rooms -> sink
+            int source = 0;
+            int sink = 1 + count + roomCount;
+            FlowNetwork network = new FlowNetwork(sink + 1);
+            int edges = 0;
+            int[] edgeId = new int[count * roomCount];
+            int[] edgeSession = new int[count * roomCount];
+            int[] edgeRoom = new int[count * roomCount];
+            for (int k = 0; k < count; k++) {
+                int session = slotSessions[k];
+                network.addEdge(source, 1 + k, 1);
+                for (int r : problem.sessionRooms[session]) {
+                    if (occupancy.roomFree(r, slot)) {
+                        edgeId[edges] = network.addEdge(1 + k, 1 + count + r, 1, roomCost[session * roomCount + r]);
+                        edgeSession[edges] = session;
+                        edgeRoom[edges] = r;
+                        edges++;
+                    }
+                }
+            }
+            for (int r = 0; r < roomCount; r++) {
+                network.addEdge(1 + count + r, sink, 1);
+            }
+
+            if (network.minCostFlow(source, sink, count) < count) {
+                statistics.recordConflict(SchedulerStatistics.Resource.ROOM);
+                return false;
+            }
+            for (int e = 0; e < edges; e++) {
+                if (network.getFlow(edgeId[e]) > 0) {
+                    occupancy.assignRoom(edgeSession[e], edgeRoom[e]);
+                }
+            }
+        }
+        return true;
+    }
+
+    // Eligible instructor free in the slot, starting from a random one
+    private int freeInstructor(Occupancy occupancy, int session, int slot) {
+        int[] eligible = problem.courseInstructors[problem.sessionCourse[session]];
+        int offset = random.nextInt(eligible.length);
+        for (int k = 0; k < eligible.length; k++) {
+            int instructor = eligible[(offset + k) % eligible.length];
+            if (occupancy.instructorFree(instructor, slot)) {
+                return instructor;
+            }
+        }
+        return -1;
+    }
+
+    // Hall's condition on every cell of the slot for the nested room classes
+    private boolean roomCapacityAllows(int session, int slot) {
+        int sessionClassIndex = sessionClass[session];
+        int words = problem.words;
+        for (int w = 0; w < words; w++) {
+            long bits = problem.slotMask[slot * words + w];
+            while (bits != 0) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int base = cell * classCount;
+                int atLeast = 0;
+                for (int k = classCount - 1; k >= 0; k--) {
+                    atLeast += cellDemand[base + k];
+                    if (k <= sessionClassIndex && atLeast + 1 > classRooms[k]) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addDemand(int session, int slot) {
+        int words = problem.words;
+        for (int w = 0; w < words; w++) {
+            long bits = problem.slotMask[slot * words + w];
+            while (bits != 0) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                cellDemand[cell * classCount + sessionClass[session]]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package controller;
+
+import model.Conflict;
+import java.util.Collections;
+import java.util.List;
+
+// Outcome of validating one timetable: its resource conflicts and BITS policy violations
+public class ValidationReport {
+    private final String timetableName;
+    private final List<Conflict> conflicts;
+    private final List<String> policyViolations;
+    private final String error;
+    private final long elapsedNanos;
+
+    public ValidationReport(String timetableName, List<Conflict> conflicts, List<String> policyViolations,
+                            long elapsedNanos) {
+        this(timetableName, conflicts, policyViolations, null, elapsedNanos);
+    }
+
+    private ValidationReport(String timetableName, List<Conflict> conflicts, List<String> policyViolations,
+                             String error, long elapsedNanos) {
+        this.timetableName = timetableName;
+        this.conflicts = conflicts;
+        this.policyViolations = policyViolations;
+        this.error = error;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Report for a timetable that could not be validated at all, for example an unreadable file
+    public static ValidationReport failed(String timetableName, String error, long elapsedNanos) {
+        return new ValidationReport(timetableName, Collections.emptyList(), Collections.emptyList(), error, elapsedNanos);
+    }
+
+    public String getTimetableName() {
+        return timetableName;
+    }
+
+    public List<Conflict> getConflicts() {
+        return Collections.unmodifiableList(conflicts);
+    }
+
+    public List<String> getPolicyViolations() {
+        return Collections.unmodifiableList(policyViolations);
+    }
+
+    // Why validation failed, or null if it ran
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null && conflicts.isEmpty() && policyViolations.isEmpty();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (error != null) {
+            return timetableName + ": not validated (" + error + ")";
+        }
+        return timetableName + ": " + conflicts.size() + " conflicts, " + policyViolations.size() + " policy violations";
+    }
+}
@@ -0,0 +1,73 @@
+package controller;
+
+import model.TimeSlot;
+import model.TimeSlotRegistry;
+import util.Constants;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// The teaching week as a bitset: five working days of ten teaching hours, bit day * HOURS + hour, so a
+// whole week fits in one long. Busy hours of a resource are ORed into one such mask, and the starts of
+// a session of d hours that are free for all of it are found with d - 1 shifts and ANDs.
+final class WeekGrid {
+    static final DayOfWeek[] DAYS = Constants.WEEKDAYS;
+    static final int FIRST_HOUR = Constants.TIMETABLE_START_TIME.getHour();
+    static final int HOURS = Constants.TIMETABLE_END_TIME.getHour() - FIRST_HOUR;
+    static final int CELLS = DAYS.length * HOURS;
+
+    private WeekGrid() {
+    }
+
+    // Session length in whole hours that fits in a day
+    static int clampDuration(int durationHours) {
+        return Math.max(1, Math.min(durationHours, HOURS));
+    }
+
+    // Starts whose whole window of free hours is in the given set
+    static long windowFree(long free, int duration) {
+        long window = free;
+        for (int k = 1; k < duration; k++) {
+            window &= free >>> k;
+        }
+        return window;
+    }
+
+    // Starts that leave room for the whole session before the end of the day
+    static long validStarts(int duration) {
+        long dayStarts = (1L << (HOURS - duration + 1)) - 1;
+        long starts = 0;
+        for (int day = 0; day < DAYS.length; day++) {
+            starts |= dayStarts << (day * HOURS);
+        }
+        return starts;
+    }
+
+    // Grid hours the slot overlaps, empty if it lies outside the grid
+    static long cellsOf(TimeSlot slot) {
+        int day = slot.getDay().getValue() - 1;
+        if (day >= DAYS.length || !slot.isComplete()) {
+            return 0;
+        }
+        int dayStart = day * 24 * 60 + FIRST_HOUR * 60;
+        int from = Math.max(0, (slot.getStartMinute() - dayStart) / 60);
+        int to = Math.min(HOURS, (slot.getEndMinute() - dayStart + 59) / 60);
+        if (slot.getEndMinute() <= dayStart || from >= to) {
+            return 0;
+        }
+        return ((1L << (to - from)) - 1) << (day * HOURS + from);
+    }
+
+    static DayOfWeek dayOf(int cell) {
+        return DAYS[cell / HOURS];
+    }
+
+    static LocalTime startOf(int cell) {
+        return LocalTime.of(FIRST_HOUR + cell % HOURS, 0);
+    }
+
+    // The shared slot instance of a session starting at the cell
+    static TimeSlot slotAt(int cell, int duration, boolean lab) {
+        LocalTime start = startOf(cell);
+        return TimeSlotRegistry.intern(dayOf(cell), start, start.plusHours(duration), lab);
+    }
+}
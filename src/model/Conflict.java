@@ -0,0 +1,66 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.util.Objects;
+
+// Two schedules that overlap in time and share a resource; first comes before second in the timetable
+public final class Conflict {
+    private final ConflictType type;
+    private final CourseSchedule first;
+    private final CourseSchedule second;
+
+    public Conflict(ConflictType type, CourseSchedule first, CourseSchedule second) {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+    }
+
+    // Getters
+    public ConflictType getType() {
+        return type;
+    }
+
+    public CourseSchedule getFirst() {
+        return first;
+    }
+
+    public CourseSchedule getSecond() {
+        return second;
+    }
+
+    public DayOfWeek getDay() {
+        return first.getTimeSlot().getDay();
+    }
+
+    // Name of the shared classroom, instructor or course
+    public String getResourceName() {
+        switch (type) {
+            case CLASSROOM:
+                return first.getClassroom().getRoomNumber();
+            case INSTRUCTOR:
+                return first.getInstructor().getName();
+            default:
+                return first.getCourse().getCourseCode();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return type + ": " + first + " / " + second;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Conflict conflict = (Conflict) o;
+        return type == conflict.type &&
+                Objects.equals(first, conflict.first) &&
+                Objects.equals(second, conflict.second);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, first, second);
+    }
+}
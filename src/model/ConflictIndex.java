@@ -0,0 +1,206 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.util.*;
+
+// Interval index over the schedules of a timetable, kept up to date as schedules are added and removed.
+// Every classroom, instructor and course gets one TreeMap per day from start time to the schedules starting
+// then, together with the longest duration ever stored in it. A schedule can only overlap schedules that start
+// between its own start minus that duration and its end, so a conflict check is a single range lookup.
+// Conflicting pairs already in the timetable are tracked as they appear and disappear.
+class ConflictIndex {
+    private final Map<Bucket, TreeMap<Integer, List<CourseSchedule>>> buckets = new HashMap<>();
+    private final Map<Bucket, Integer> maxDuration = new HashMap<>();
+    private final Map<CourseSchedule, List<Conflict>> conflictsOf = new IdentityHashMap<>();
+    private final List<Conflict> conflicts = new ArrayList<>();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    // Whether the schedule would clash with any indexed schedule
+    boolean conflictsWith(CourseSchedule schedule) {
+        for (ConflictType type : ConflictType.values()) {
+            if (!overlapping(schedule, type, true).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Whether the resource of the given type is already busy during the schedule's slot
+    boolean conflictsWith(CourseSchedule schedule, ConflictType type) {
+        return !overlapping(schedule, type, true).isEmpty();
+    }
+
+    // The conflicts the schedule would have with indexed schedules, one per clashing schedule.
+    // These are exactly the schedules that would have to move for it to fit.
+    List<Conflict> conflictsOf(CourseSchedule schedule) {
+        List<Conflict> result = new ArrayList<>();
+        for (ConflictType type : ConflictType.values()) {
+            for (CourseSchedule existing : overlapping(schedule, type, false)) {
+                if (!sharesEarlierResource(existing, schedule, type)) {
+                    result.add(new Conflict(type, existing, schedule));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Index a schedule, recording a conflict with every indexed schedule it clashes with
+    void add(CourseSchedule schedule) {
+        for (Conflict conflict : conflictsOf(schedule)) {
+            conflicts.add(conflict);
+            conflictsOf.computeIfAbsent(conflict.getFirst(), s -> new ArrayList<>()).add(conflict);
+            conflictsOf.computeIfAbsent(schedule, s -> new ArrayList<>()).add(conflict);
+        }
+
+        int start = startOf(schedule);
+        int duration = endOf(schedule) - start;
+        for (ConflictType type : ConflictType.values()) {
+            Bucket bucket = bucketOf(schedule, type);
+            if (bucket == null) {
+                continue;
+            }
+            buckets.computeIfAbsent(bucket, b -> new TreeMap<>())
+                    .computeIfAbsent(start, s -> new ArrayList<>(1)).add(schedule);
+            maxDuration.merge(bucket, Math.max(0, duration), Math::max);
+        }
+        size++;
+    }
+
+    // Remove exactly this schedule instance and the conflicts it takes part in
+    void remove(CourseSchedule schedule) {
+        int start = startOf(schedule);
+        for (ConflictType type : ConflictType.values()) {
+            Bucket bucket = bucketOf(schedule, type);
+            TreeMap<Integer, List<CourseSchedule>> byStart = bucket == null ? null : buckets.get(bucket);
+            List<CourseSchedule> atStart = byStart == null ? null : byStart.get(start);
+            if (atStart == null) {
+                continue;
+            }
+            atStart.removeIf(s -> s == schedule);
+            if (atStart.isEmpty()) {
+                byStart.remove(start);
+            }
+            if (byStart.isEmpty()) {
+                buckets.remove(bucket);
+                maxDuration.remove(bucket);
+            }
+        }
+
+        List<Conflict> involved = conflictsOf.remove(schedule);
+        if (involved != null) {
+            for (Conflict conflict : involved) {
+                conflicts.removeIf(c -> c == conflict);
+                CourseSchedule other = conflict.getFirst() == schedule ? conflict.getSecond() : conflict.getFirst();
+                List<Conflict> ofOther = conflictsOf.get(other);
+                if (ofOther != null) {
+                    ofOther.removeIf(c -> c == conflict);
+                    if (ofOther.isEmpty()) {
+                        conflictsOf.remove(other);
+                    }
+                }
+            }
+        }
+        size--;
+    }
+
+    // Conflicting pairs among the indexed schedules, in the order they appeared
+    List<Conflict> getConflicts() {
+        return new ArrayList<>(conflicts);
+    }
+
+    boolean hasConflicts() {
+        return !conflicts.isEmpty();
+    }
+
+    // Indexed schedules sharing the resource of the given type and overlapping the schedule in time
+    private List<CourseSchedule> overlapping(CourseSchedule schedule, ConflictType type, boolean firstOnly) {
+        Bucket bucket = bucketOf(schedule, type);
+        TreeMap<Integer, List<CourseSchedule>> byStart = bucket == null ? null : buckets.get(bucket);
+        if (byStart == null) {
+            return Collections.emptyList();
+        }
+
+        List<CourseSchedule> result = new ArrayList<>();
+        int from = startOf(schedule) - maxDuration.get(bucket);
+        for (List<CourseSchedule> atStart : byStart.subMap(from, true, endOf(schedule), true).values()) {
+            for (CourseSchedule other : atStart) {
+                if (other.getTimeSlot().overlaps(schedule.getTimeSlot())) {
+                    result.add(other);
+                    if (firstOnly) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // A pair sharing several resources is recorded once, under the first type (classroom, instructor, course)
+    private boolean sharesEarlierResource(CourseSchedule a, CourseSchedule b, ConflictType type) {
+        for (ConflictType earlier : ConflictType.values()) {
+            if (earlier == type) {
+                return false;
+            }
+            Object resource = resourceOf(a, earlier);
+            if (resource != null && resource.equals(resourceOf(b, earlier))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Bucket bucketOf(CourseSchedule schedule, ConflictType type) {
+        Object resource = resourceOf(schedule, type);
+        return resource == null ? null : new Bucket(type, schedule.getTimeSlot().getDay(), resource);
+    }
+
+    private static Object resourceOf(CourseSchedule schedule, ConflictType type) {
+        switch (type) {
+            case CLASSROOM:
+                return schedule.getClassroom();
+            case INSTRUCTOR:
+                return schedule.getInstructor();
+            default:
+                return schedule.getCourse();
+        }
+    }
+
+    // Times are kept as minutes of the week
+    private static int startOf(CourseSchedule schedule) {
+        return schedule.getTimeSlot().getStartMinute();
+    }
+
+    private static int endOf(CourseSchedule schedule) {
+        return schedule.getTimeSlot().getEndMinute();
+    }
+
+    // One resource on one day
+    private static final class Bucket {
+        private final ConflictType type;
+        private final DayOfWeek day;
+        private final Object resource;
+
+        Bucket(ConflictType type, DayOfWeek day, Object resource) {
+            this.type = type;
+            this.day = day;
+            this.resource = resource;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Bucket)) return false;
+            Bucket bucket = (Bucket) o;
+            return type == bucket.type && day == bucket.day && resource.equals(bucket.resource);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, day, resource);
+        }
+    }
+}
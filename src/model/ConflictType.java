@@ -0,0 +1,23 @@
+package model;
+
+// Shared resource that makes two overlapping schedules clash, in the order ConflictChecker tests them
+public enum ConflictType {
+    CLASSROOM("Classroom Conflict"),
+    INSTRUCTOR("Instructor Conflict"),
+    COURSE("Course Conflict");
+
+    private final String displayName;
+
+    ConflictType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -122,7 +122,7 @@ public class CourseDAO {
                                         LocalTime startTime = LocalTime.parse(timeParts[0], TIME_FORMATTER);
                                         LocalTime endTime = LocalTime.parse(timeParts[1], TIME_FORMATTER);
                                         
-                                        TimeSlot slot = new TimeSlot(day, startTime, endTime);
+                                        TimeSlot slot = TimeSlotRegistry.intern(day, startTime, endTime);
                                         slots.add(slot);
                                     }
                                 }
@@ -0,0 +1,78 @@
+package model;
+
+import util.TimeUtils;
+import java.util.HashMap;
+import java.util.Map;
+
+// Lecture and lab days of every course of a timetable, kept up to date as schedules are added and removed.
+// A day stays in a course's mask while at least one session of that type is on it, so the day-gap policy of
+// one course is a bit test on two masks, and whether any course breaks it is a counter.
+class DayGapIndex {
+    private final Map<Course, CourseDays> courses = new HashMap<>();
+    private int violatingCourses;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(CourseSchedule schedule) {
+        courses.computeIfAbsent(schedule.getCourse(), c -> new CourseDays()).update(schedule, 1);
+        size++;
+    }
+
+    void remove(CourseSchedule schedule) {
+        CourseDays days = courses.get(schedule.getCourse());
+        if (days == null) {
+            return;
+        }
+        days.update(schedule, -1);
+        if (days.lectureMask == 0 && days.labMask == 0) {
+            courses.remove(schedule.getCourse());
+        }
+        size--;
+    }
+
+    boolean hasViolation() {
+        return violatingCourses > 0;
+    }
+
+    boolean violates(Course course) {
+        CourseDays days = courses.get(course);
+        return days != null && days.violating;
+    }
+
+    int dayMask(Course course, boolean lab) {
+        CourseDays days = courses.get(course);
+        if (days == null) {
+            return 0;
+        }
+        return lab ? days.labMask : days.lectureMask;
+    }
+
+    private final class CourseDays {
+        private final int[] sessions = new int[14]; // Sessions per day, lectures then labs
+        private int lectureMask;
+        private int labMask;
+        private boolean violating;
+
+        void update(CourseSchedule schedule, int delta) {
+            int day = schedule.getTimeSlot().getDay().getValue() - 1;
+            int bit = TimeUtils.dayBit(schedule.getTimeSlot().getDay());
+            int index = (schedule.isLab() ? 7 : 0) + day;
+            sessions[index] += delta;
+
+            int mask = schedule.isLab() ? labMask : lectureMask;
+            mask = sessions[index] > 0 ? mask | bit : mask & ~bit;
+            if (schedule.isLab()) {
+                labMask = mask;
+            } else {
+                lectureMask = mask;
+            }
+
+            boolean was = violating;
+            violating = TimeUtils.adjacentDayPairs(lectureMask) != 0 || TimeUtils.adjacentDayPairs(labMask) != 0;
+            violatingCourses += (violating ? 1 : 0) - (was ? 1 : 0);
+        }
+    }
+}
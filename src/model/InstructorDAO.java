@@ -85,7 +85,7 @@ public class InstructorDAO {
                             String day = parts[0];
                             String[] times = parts[1].split("-");
 
-                            slots[i] = new TimeSlot(
+                            slots[i] = TimeSlotRegistry.intern(
                                     DayOfWeek.valueOf(day),
                                     LocalTime.parse(times[0]),
                                     LocalTime.parse(times[1])
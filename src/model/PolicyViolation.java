@@ -0,0 +1,169 @@
+package model;
+
+import java.time.DayOfWeek;
+
+// A broken BITS timetable policy with the entities involved.
+// The human-readable message is only built when getMessage() is called.
+public final class PolicyViolation {
+
+    public enum Severity {
+        HARD, // The timetable must not be used as is
+        SOFT  // Worth fixing, but the timetable is usable
+    }
+
+    public enum Rule {
+        LECTURE_DAY_GAP("day-gap.lecture", Severity.HARD),
+        LAB_DAY_GAP("day-gap.lab", Severity.HARD),
+        INSTRUCTOR_OVERLOAD("instructor.overload", Severity.HARD),
+        INSTRUCTOR_CONSECUTIVE_HOURS("instructor.consecutive-hours", Severity.HARD),
+        INSTRUCTOR_DAILY_HOURS("instructor.daily-hours", Severity.HARD),
+        CLASSROOM_LOW_HOURS("classroom.low-hours", Severity.SOFT),
+        CLASSROOM_FEW_DAYS("classroom.few-days", Severity.SOFT);
+
+        private final String id;
+        private final Severity severity;
+
+        Rule(String id, Severity severity) {
+            this.id = id;
+            this.severity = severity;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Severity getSeverity() {
+            return severity;
+        }
+    }
+
+    private final Rule rule;
+    private final Course course;
+    private final Instructor instructor;
+    private final Classroom classroom;
+    private final DayOfWeek day;
+    private final DayOfWeek otherDay;
+    private final TimeSlot timeSlot;
+    private final int amount; // Hours or days the rule measured, 0 if not applicable
+    private String message;
+
+    private PolicyViolation(Rule rule, Course course, Instructor instructor, Classroom classroom,
+                            DayOfWeek day, DayOfWeek otherDay, TimeSlot timeSlot, int amount) {
+        this.rule = rule;
+        this.course = course;
+        this.instructor = instructor;
+        this.classroom = classroom;
+        this.day = day;
+        this.otherDay = otherDay;
+        this.timeSlot = timeSlot;
+        this.amount = amount;
+    }
+
+    // Two sessions of the same type of a course on adjacent days; the slot is the one of the later session
+    public static PolicyViolation dayGap(Course course, boolean lab, TimeSlot first, TimeSlot second) {
+        return new PolicyViolation(lab ? Rule.LAB_DAY_GAP : Rule.LECTURE_DAY_GAP, course, null, null,
+                first.getDay(), second.getDay(), second, 0);
+    }
+
+    public static PolicyViolation instructorOverload(Instructor instructor, int hours) {
+        return new PolicyViolation(Rule.INSTRUCTOR_OVERLOAD, null, instructor, null, null, null, null, hours);
+    }
+
+    // Teaching without a break for longer than allowed; the day is the one of the run
+    public static PolicyViolation consecutiveHours(Instructor instructor, DayOfWeek day, int hours) {
+        return new PolicyViolation(Rule.INSTRUCTOR_CONSECUTIVE_HOURS, null, instructor, null, day, null, null, hours);
+    }
+
+    public static PolicyViolation dailyHours(Instructor instructor, DayOfWeek day, int hours) {
+        return new PolicyViolation(Rule.INSTRUCTOR_DAILY_HOURS, null, instructor, null, day, null, null, hours);
+    }
+
+    public static PolicyViolation classroomLowHours(Classroom classroom, int hours) {
+        return new PolicyViolation(Rule.CLASSROOM_LOW_HOURS, null, null, classroom, null, null, null, hours);
+    }
+
+    public static PolicyViolation classroomFewDays(Classroom classroom, int days) {
+        return new PolicyViolation(Rule.CLASSROOM_FEW_DAYS, null, null, classroom, null, null, null, days);
+    }
+
+    // Getters
+    public Rule getRule() {
+        return rule;
+    }
+
+    public String getRuleId() {
+        return rule.getId();
+    }
+
+    public Severity getSeverity() {
+        return rule.getSeverity();
+    }
+
+    public boolean isHard() {
+        return rule.getSeverity() == Severity.HARD;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public Instructor getInstructor() {
+        return instructor;
+    }
+
+    public Classroom getClassroom() {
+        return classroom;
+    }
+
+    public DayOfWeek getDay() {
+        return day;
+    }
+
+    public DayOfWeek getOtherDay() {
+        return otherDay;
+    }
+
+    public TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    // Same wording checkBITSPolicyCompliance has always used for the original rules
+    public String getMessage() {
+        if (message == null) {
+            message = buildMessage();
+        }
+        return message;
+    }
+
+    private String buildMessage() {
+        switch (rule) {
+            case LECTURE_DAY_GAP:
+            case LAB_DAY_GAP:
+                String sessionType = rule == Rule.LAB_DAY_GAP ? "lab" : "lecture";
+                if (day == DayOfWeek.FRIDAY && otherDay == DayOfWeek.MONDAY) {
+                    return course.getCourseCode() + " has " + sessionType + " sessions on adjacent days (Friday and Monday)";
+                }
+                return course.getCourseCode() + " has " + sessionType + " sessions on adjacent days ("
+                        + day + " and " + otherDay + ")";
+            case INSTRUCTOR_OVERLOAD:
+                return "Instructor " + instructor.getName() + " has an excessive teaching load of " + amount + " hours";
+            case INSTRUCTOR_CONSECUTIVE_HOURS:
+                return "Instructor " + instructor.getName() + " teaches " + amount + " consecutive hours on " + day;
+            case INSTRUCTOR_DAILY_HOURS:
+                return "Instructor " + instructor.getName() + " has " + amount + " teaching hours on " + day;
+            case CLASSROOM_LOW_HOURS:
+                return "Classroom " + classroom.getRoomNumber() + " has low utilization of only " + amount + " hours per week";
+            default:
+                return "Classroom " + classroom.getRoomNumber() + " is only used on " + amount + " days of the week";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
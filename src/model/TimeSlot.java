@@ -3,14 +3,26 @@ package model;
 import java.time.DayOfWeek;
 import java.time.LocalTime;
 import java.util.Objects;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 
 public class TimeSlot implements Serializable {
+    private static final long serialVersionUID = -1402052388728753887L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
     private DayOfWeek day;
     private LocalTime startTime;
     private LocalTime endTime;
     private boolean isLabSlot; // To differentiate between lecture and lab slots
 
+    // Start and end as minutes from Monday 00:00 (seconds are dropped), -1 while the slot is incomplete.
+    // Comparisons on the hot paths use these instead of LocalTime; they are recomputed on every change.
+    private transient int startMinute = -1;
+    private transient int endMinute = -1;
+    private transient int id = -1; // Id in TimeSlotRegistry, -1 if this is not the shared instance
+
     // Constructors
     public TimeSlot() {
     }
@@ -19,7 +31,8 @@ public class TimeSlot implements Serializable {
         this.day = day;
         this.startTime = startTime;
         this.endTime = endTime;
-        this.isLabSlot = endTime.minusHours(startTime.getHour()).getHour() >= 2; // Labs are typically 2+ hours
+        this.isLabSlot = looksLikeLab(startTime, endTime);
+        encode();
     }
 
     public TimeSlot(DayOfWeek day, LocalTime startTime, LocalTime endTime, boolean isLabSlot) {
@@ -27,6 +40,7 @@ public class TimeSlot implements Serializable {
         this.startTime = startTime;
         this.endTime = endTime;
         this.isLabSlot = isLabSlot;
+        encode();
     }
 
     // Getters and Setters
@@ -35,7 +49,9 @@ public class TimeSlot implements Serializable {
     }
 
     public void setDay(DayOfWeek day) {
+        checkNotInterned();
         this.day = day;
+        encode();
     }
 
     public LocalTime getStartTime() {
@@ -43,7 +59,9 @@ public class TimeSlot implements Serializable {
     }
 
     public void setStartTime(LocalTime startTime) {
+        checkNotInterned();
         this.startTime = startTime;
+        encode();
     }
 
     public LocalTime getEndTime() {
@@ -51,7 +69,9 @@ public class TimeSlot implements Serializable {
     }
 
     public void setEndTime(LocalTime endTime) {
+        checkNotInterned();
         this.endTime = endTime;
+        encode();
     }
 
     public boolean isLabSlot() {
@@ -59,11 +79,65 @@ public class TimeSlot implements Serializable {
     }
 
     public void setLabSlot(boolean labSlot) {
+        checkNotInterned();
         isLabSlot = labSlot;
     }
 
+    // Minute of the week the slot starts at, counted from Monday 00:00; -1 if the slot is incomplete
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    // Minute of the week the slot ends at; -1 if the slot is incomplete
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public int getDurationMinutes() {
+        return endMinute - startMinute;
+    }
+
+    // Start minute in the high and end minute in the low 32 bits, so keys order slots by day, start, then end
+    public long getPackedMinutes() {
+        return ((long) startMinute << 32) | (endMinute & 0xFFFFFFFFL);
+    }
+
+    public boolean isComplete() {
+        return startMinute >= 0;
+    }
+
+    // Stable id of the shared instance in TimeSlotRegistry, -1 if this slot was not interned
+    public int getId() {
+        return id;
+    }
+
+    public boolean isInterned() {
+        return id >= 0;
+    }
+
+    void markInterned(int id) {
+        this.id = id;
+    }
+
+    private void checkNotInterned() {
+        if (id >= 0) {
+            throw new IllegalStateException("Shared time slot " + this + " cannot be changed");
+        }
+    }
+
+    // Labs are typically 2+ hours
+    static boolean looksLikeLab(LocalTime startTime, LocalTime endTime) {
+        return Math.floorMod(endTime.getHour() - startTime.getHour(), 24) >= 2;
+    }
+
     // Method to check if this timeslot overlaps with another
     public boolean overlaps(TimeSlot other) {
+        if (startMinute >= 0 && other.startMinute >= 0) {
+            // Minutes of different days never meet, so the day check is implied
+            return (startMinute < other.endMinute && endMinute > other.startMinute) ||
+                    startMinute == other.startMinute || endMinute == other.endMinute;
+        }
+
         if (this.day != other.day) {
             return false;
         }
@@ -73,6 +147,28 @@ public class TimeSlot implements Serializable {
                 this.startTime.equals(other.startTime) || this.endTime.equals(other.endTime);
     }
 
+    private void encode() {
+        if (day == null || startTime == null || endTime == null) {
+            startMinute = -1;
+            endMinute = -1;
+            return;
+        }
+        int dayStart = (day.getValue() - 1) * MINUTES_PER_DAY;
+        startMinute = dayStart + startTime.getHour() * 60 + startTime.getMinute();
+        endMinute = dayStart + endTime.getHour() * 60 + endTime.getMinute();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        encode();
+        id = -1;
+    }
+
+    // Loaded timetables and suggestions share the registry's instances instead of keeping their own copies
+    private Object readResolve() throws ObjectStreamException {
+        return TimeSlotRegistry.intern(this);
+    }
+
     @Override
     public String toString() {
         return day + " " + startTime + "-" + endTime + (isLabSlot ? " (Lab)" : " (Lecture)");
@@ -83,6 +179,10 @@ public class TimeSlot implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TimeSlot timeSlot = (TimeSlot) o;
+        if (startMinute >= 0 && timeSlot.startMinute >= 0
+                && (startMinute != timeSlot.startMinute || endMinute != timeSlot.endMinute)) {
+            return false;
+        }
         return day == timeSlot.day &&
                 Objects.equals(startTime, timeSlot.startTime) &&
                 Objects.equals(endTime, timeSlot.endTime);
@@ -90,6 +190,9 @@ public class TimeSlot implements Serializable {
 
     @Override
     public int hashCode() {
+        if (startMinute >= 0) {
+            return Long.hashCode(getPackedMinutes());
+        }
         return Objects.hash(day, startTime, endTime);
     }
 }
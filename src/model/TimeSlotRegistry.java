@@ -0,0 +1,80 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Canonical TimeSlot instances shared by the whole application. A slot is identified by its day, start, end
+// and lab flag; the first request for a slot creates it and gives it the next int id, every later request
+// returns that same instance. Interned slots can be compared by identity or id and must not be changed.
+// Slots with a missing day or time, or times with seconds, are not interned and keep id -1.
+public final class TimeSlotRegistry {
+    private static final Map<Long, TimeSlot> byKey = new ConcurrentHashMap<>();
+    private static final List<TimeSlot> byId = new ArrayList<>();
+
+    private TimeSlotRegistry() {
+    }
+
+    public static TimeSlot intern(DayOfWeek day, LocalTime startTime, LocalTime endTime, boolean isLabSlot) {
+        if (!internable(day, startTime, endTime)) {
+            return new TimeSlot(day, startTime, endTime, isLabSlot);
+        }
+        TimeSlot slot = byKey.get(key(day, startTime, endTime, isLabSlot));
+        return slot != null ? slot : register(new TimeSlot(day, startTime, endTime, isLabSlot));
+    }
+
+    // Lab flag guessed from the length, as the three-argument TimeSlot constructor does
+    public static TimeSlot intern(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        return intern(day, startTime, endTime, TimeSlot.looksLikeLab(startTime, endTime));
+    }
+
+    // The shared instance equal to the slot (same lab flag included); the slot itself if it is the first one
+    public static TimeSlot intern(TimeSlot slot) {
+        if (slot.isInterned()) {
+            return slot;
+        }
+        if (!internable(slot.getDay(), slot.getStartTime(), slot.getEndTime())) {
+            return slot;
+        }
+        TimeSlot shared = byKey.get(key(slot.getDay(), slot.getStartTime(), slot.getEndTime(), slot.isLabSlot()));
+        return shared != null ? shared : register(slot);
+    }
+
+    // Interned slot with the given id, or null if there is none
+    public static synchronized TimeSlot get(int id) {
+        return id >= 0 && id < byId.size() ? byId.get(id) : null;
+    }
+
+    // Number of ids handed out so far; ids run from 0 to size() - 1
+    public static synchronized int size() {
+        return byId.size();
+    }
+
+    private static synchronized TimeSlot register(TimeSlot slot) {
+        Long key = key(slot.getDay(), slot.getStartTime(), slot.getEndTime(), slot.isLabSlot());
+        TimeSlot shared = byKey.get(key);
+        if (shared != null) {
+            return shared; // Registered by another thread in the meantime
+        }
+        slot.markInterned(byId.size());
+        byId.add(slot);
+        byKey.put(key, slot);
+        return slot;
+    }
+
+    private static boolean internable(DayOfWeek day, LocalTime startTime, LocalTime endTime) {
+        return day != null && startTime != null && endTime != null
+                && startTime.getSecond() == 0 && startTime.getNano() == 0
+                && endTime.getSecond() == 0 && endTime.getNano() == 0;
+    }
+
+    // Day, start and end minute and lab flag packed into one number
+    private static long key(DayOfWeek day, LocalTime startTime, LocalTime endTime, boolean isLabSlot) {
+        long start = startTime.getHour() * 60 + startTime.getMinute();
+        long end = endTime.getHour() * 60 + endTime.getMinute();
+        return (((day.getValue() * 2048L + start) * 2048L + end) << 1) | (isLabSlot ? 1 : 0);
+    }
+}
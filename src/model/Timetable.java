@@ -6,8 +6,14 @@ import java.time.DayOfWeek;
 import java.io.Serializable;
 
 public class Timetable implements Serializable {
+    private static final long serialVersionUID = 3186515269088448000L;
+
     private String name;
     private List<CourseSchedule> schedules;
+    private double score; // Ranking score assigned by the auto scheduler
+    private Long seed; // Solver seed that produced this timetable, null if it was built by hand
+    private transient ConflictIndex conflictIndex; // Built on first use, rebuilt when the schedule list is replaced
+    private transient DayGapIndex dayGapIndex; // Same lifecycle as the conflict index
 
     // Constructors
     public Timetable() {
@@ -28,29 +34,116 @@ public class Timetable implements Serializable {
         this.name = name;
     }
 
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
     public List<CourseSchedule> getSchedules() {
         return schedules;
     }
 
     public void setSchedules(List<CourseSchedule> schedules) {
         this.schedules = schedules;
+        this.conflictIndex = null;
+        this.dayGapIndex = null;
     }
 
     // Methods to manipulate schedules
     public boolean addSchedule(CourseSchedule schedule) {
-        // Check for conflicts before adding
-        for (CourseSchedule existing : schedules) {
-            if (existing.conflictsWith(schedule)) {
-                return false; // Conflict detected, can't add
-            }
+        // Check for conflicts before adding, a range lookup per resource
+        ConflictIndex index = getConflictIndex();
+        if (index.conflictsWith(schedule)) {
+            return false; // Conflict detected, can't add
         }
 
         // No conflicts, add the schedule
-        return schedules.add(schedule);
+        DayGapIndex days = getDayGapIndex();
+        schedules.add(schedule);
+        index.add(schedule);
+        days.add(schedule);
+        return true;
     }
 
     public boolean removeSchedule(CourseSchedule schedule) {
-        return schedules.remove(schedule);
+        int position = schedules.indexOf(schedule);
+        if (position < 0) {
+            return false;
+        }
+        // Fetch the indexes while they still match the list, or they would be rebuilt
+        ConflictIndex index = getConflictIndex();
+        DayGapIndex days = getDayGapIndex();
+        CourseSchedule removed = schedules.remove(position);
+        index.remove(removed);
+        days.remove(removed);
+        return true;
+    }
+
+    // Whether the schedule could be added without clashing with any schedule already in the timetable
+    public boolean canAdd(CourseSchedule schedule) {
+        return !getConflictIndex().conflictsWith(schedule);
+    }
+
+    // Whether the classroom, instructor or course (by type) of the schedule is free during its slot
+    public boolean isResourceFree(CourseSchedule schedule, ConflictType type) {
+        return !getConflictIndex().conflictsWith(schedule, type);
+    }
+
+    // What stops the schedule from being added: one conflict per schedule already in the way, each with the
+    // schedule in the timetable first. Empty if the schedule fits.
+    public List<Conflict> getBlockingConflicts(CourseSchedule schedule) {
+        return getConflictIndex().conflictsOf(schedule);
+    }
+
+    // Conflicting schedule pairs currently in the timetable (only possible if they were added in bulk)
+    public List<Conflict> getConflicts() {
+        return getConflictIndex().getConflicts();
+    }
+
+    public boolean hasConflicts() {
+        return getConflictIndex().hasConflicts();
+    }
+
+    // The index is rebuilt if the schedule list was changed behind its back (its size no longer matches)
+    private ConflictIndex getConflictIndex() {
+        if (conflictIndex == null || conflictIndex.size() != schedules.size()) {
+            conflictIndex = new ConflictIndex();
+            for (CourseSchedule schedule : schedules) {
+                conflictIndex.add(schedule);
+            }
+        }
+        return conflictIndex;
+    }
+
+    private DayGapIndex getDayGapIndex() {
+        if (dayGapIndex == null || dayGapIndex.size() != schedules.size()) {
+            dayGapIndex = new DayGapIndex();
+            for (CourseSchedule schedule : schedules) {
+                dayGapIndex.add(schedule);
+            }
+        }
+        return dayGapIndex;
+    }
+
+    // Whether two lectures, or two labs, of the course fall on adjacent days (Friday and Monday included)
+    public boolean violatesDayGap(Course course) {
+        return getDayGapIndex().violates(course);
+    }
+
+    // Days the course has lectures (or labs) on, as a TimeUtils day mask
+    public int getDayMask(Course course, boolean lab) {
+        return getDayGapIndex().dayMask(course, lab);
     }
 
     public List<CourseSchedule> getSchedulesForCourse(Course course) {
@@ -83,76 +176,10 @@ public class Timetable implements Serializable {
         return result;
     }
 
-    // Validate timetable according to BITS policies
+    // Validate timetable according to BITS policies: lectures, and labs, of a course have a day in gap.
+    // The day masks are maintained on every add and remove, so this is a counter check.
     public boolean validateBITSPolicies() {
-        // Check for lectures/labs with a day in gap
-        for (Course course : getAllCourses()) {
-            List<CourseSchedule> courseSchedules = getSchedulesForCourse(course);
-
-            // Check for each type (lecture or lab)
-            List<CourseSchedule> lectures = new ArrayList<>();
-            List<CourseSchedule> labs = new ArrayList<>();
-
-            for (CourseSchedule schedule : courseSchedules) {
-                if (schedule.isLab()) {
-                    labs.add(schedule);
-                } else {
-                    lectures.add(schedule);
-                }
-            }
-
-            // Check lectures have at least one day gap
-            if (!checkDayGap(lectures)) {
-                return false;
-            }
-
-            // Check labs have at least one day gap
-            if (!checkDayGap(labs)) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
-    private boolean checkDayGap(List<CourseSchedule> schedules) {
-        // Check if schedules have at least one day gap between them
-        if (schedules.size() <= 1) {
-            return true; // No gap to check
-        }
-
-        // Check each pair of schedules
-        for (int i = 0; i < schedules.size(); i++) {
-            for (int j = i + 1; j < schedules.size(); j++) {
-                TimeSlot slot1 = schedules.get(i).getTimeSlot();
-                TimeSlot slot2 = schedules.get(j).getTimeSlot();
-
-                // If days are adjacent or same, policy is violated
-                int dayDiff = Math.abs(slot1.getDay().getValue() - slot2.getDay().getValue());
-                if (dayDiff < 2 && dayDiff != 0) {
-                    return false;
-                }
-
-                // Special case for Monday and Friday (considered adjacent for BITS policy)
-                if ((slot1.getDay() == DayOfWeek.MONDAY && slot2.getDay() == DayOfWeek.FRIDAY) ||
-                        (slot1.getDay() == DayOfWeek.FRIDAY && slot2.getDay() == DayOfWeek.MONDAY)) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
-    }
-
-    // Helper method to get all courses in the timetable
-    private List<Course> getAllCourses() {
-        List<Course> result = new ArrayList<>();
-        for (CourseSchedule schedule : schedules) {
-            if (!result.contains(schedule.getCourse())) {
-                result.add(schedule.getCourse());
-            }
-        }
-        return result;
+        return !getDayGapIndex().hasViolation();
     }
 
     @Override
@@ -149,7 +149,7 @@ public class TimetableDAO {
                     DayOfWeek day = DayOfWeek.valueOf(fields[0]);
                     LocalTime startTime = LocalTime.parse(fields[1]);
                     LocalTime endTime = LocalTime.parse(fields[2]);
-                    TimeSlot timeSlot = new TimeSlot(day, startTime, endTime);
+                    TimeSlot timeSlot = TimeSlotRegistry.intern(day, startTime, endTime);
 
                     Course course = courseMap.get(fields[3]);
                     Instructor instructor = instructorMap.get(fields[4]);
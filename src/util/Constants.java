@@ -21,6 +21,8 @@ public class Constants {
     public static final String INSTRUCTOR_FILE = DATA_DIR + "/instructors.csv";
     public static final String TIMETABLE_DIR = DATA_DIR + "/timetables";
     public static final String TIMETABLE_EXTENSION = ".ttb";
+    public static final String CACHE_DIR = DATA_DIR + "/cache";
+    public static final String CACHE_EXTENSION = ".sgc";
 
     // UI Constants
     public static final int WINDOW_WIDTH = 1200;
@@ -85,6 +87,29 @@ public class Constants {
     public static final int MAX_CONSECUTIVE_HOURS = 3;
     public static final int MAX_DAILY_HOURS = 6;
     public static final int MAX_INSTRUCTOR_WEEKLY_HOURS = 20;
+    public static final int MIN_CLASSROOM_WEEKLY_HOURS = 20;
+    public static final int MIN_CLASSROOM_DAYS = 4;
+
+    // Manual placement constants
+    public static final int PLACEMENT_ALTERNATIVES = 5;
+    public static final int FREE_SLOT_RESULTS = 50;
+    public static final int REPAIR_SUGGESTIONS = 5;
+
+    // Auto scheduler constants
+    public static final int MAX_CACHED_RUNS = 32;
+    public static final int MAX_SUGGESTIONS = 50;
+    public static final int SUGGESTION_PREFETCH_WINDOW = 3;
+    public static final int CANDIDATES_PER_SUGGESTION = 10;
+    public static final int LNS_ITERATIONS = 500;
+    public static final int MIN_SUGGESTION_DISTANCE_PERCENT = 20;
+    public static final boolean TWO_PHASE_SCHEDULING = true;
+    public static final boolean PREASSIGN_INSTRUCTORS = true;
+    public static final long DEFAULT_SOLVER_SEED = 20240101L;
+    public static final int SOLVER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    public static final long SOLVER_MAX_WALL_MILLIS = 60_000L;
+    public static final int SOLVER_MAX_RETAINED_CANDIDATES = 200;
+    public static final long SOLVER_MAX_RETAINED_BYTES = 256L * 1024 * 1024;
+    public static final int SOLVER_HEAP_SHARE_DIVISOR = 4;
 
     // Export/Import constants
     public static final String CSV_SEPARATOR = ",";
@@ -0,0 +1,312 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Directed flow network over dense integer node ids, with optional per-unit edge costs.
+ * Edges are stored in flat arrays (forward edge at an even index, its residual twin at the next odd index)
+ * so that solving does not allocate per edge.
+ */
+public class FlowNetwork {
+
+    private final int nodeCount;
+    private int[] head;
+    private int[] next;
+    private int[] to;
+    private long[] capacity;
+    private long[] cost;
+    private int edgeCount;
+
+    // Scratch arrays reused by the solver
+    private int[] level;
+    private int[] iterator;
+    private int[] queue;
+
+    /**
+     * Create an empty network
+     *
+     * @param nodeCount number of nodes, ids are 0..nodeCount-1
+     */
+    public FlowNetwork(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(head, -1);
+        this.next = new int[16];
+        this.to = new int[16];
+        this.capacity = new long[16];
+        this.cost = new long[16];
+        this.level = new int[nodeCount];
+        this.iterator = new int[nodeCount];
+        this.queue = new int[nodeCount];
+    }
+
+    /**
+     * Get the number of nodes
+     *
+     * @return node count
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Add a directed edge
+     *
+     * @param from tail node
+     * @param target head node
+     * @param cap edge capacity
+     * @return the edge id, usable with {@link #getFlow(int)}
+     */
+    public int addEdge(int from, int target, long cap) {
+        return addEdge(from, target, cap, 0);
+    }
+
+    /**
+     * Add a directed edge with a cost per unit of flow
+     *
+     * @param from tail node
+     * @param target head node
+     * @param cap edge capacity
+     * @param unitCost cost of each unit routed through the edge
+     * @return the edge id, usable with {@link #getFlow(int)}
+     */
+    public int addEdge(int from, int target, long cap, long unitCost) {
+        ensureEdgeCapacity(edgeCount + 2);
+        int id = edgeCount;
+        link(from, target, cap, unitCost);
+        link(target, from, 0, -unitCost);
+        return id;
+    }
+
+    /**
+     * Get the flow currently routed through an edge
+     *
+     * @param edge the edge id returned by {@link #addEdge(int, int, long)}
+     * @return the flow on the edge
+     */
+    public long getFlow(int edge) {
+        return capacity[edge ^ 1];
+    }
+
+    /**
+     * Compute a maximum flow with Dinic's algorithm
+     *
+     * @param source source node
+     * @param sink sink node
+     * @return the value of the maximum flow
+     */
+    public long maxFlow(int source, int sink) {
+        long total = 0;
+        while (buildLevels(source, sink)) {
+            System.arraycopy(head, 0, iterator, 0, nodeCount);
+            long pushed;
+            while ((pushed = augment(source, sink, Long.MAX_VALUE)) > 0) {
+                total += pushed;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Route up to a given amount of flow at minimum total cost by successive shortest paths.
+     * Potentials are initialised with Bellman-Ford, so costs may be negative as long as the network
+     * has no negative cycle; after that each round runs Dijkstra on reduced costs and then saturates
+     * all shortest paths at once with a depth-first search over the zero reduced cost edges.
+     *
+     * @param source source node
+     * @param sink sink node
+     * @param limit maximum amount of flow to route
+     * @return the amount of flow routed
+     */
+    public long minCostFlow(int source, int sink, long limit) {
+        long[] potential = initialPotentials(source);
+        long[] distance = new long[nodeCount];
+        boolean[] visited = new boolean[nodeCount];
+        long total = 0;
+
+        while (total < limit) {
+            Arrays.fill(distance, Long.MAX_VALUE);
+            distance[source] = 0;
+            PriorityQueue<long[]> heap = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+            heap.add(new long[] {0, source});
+            while (!heap.isEmpty()) {
+                long[] entry = heap.poll();
+                int node = (int) entry[1];
+                if (entry[0] > distance[node]) {
+                    continue;
+                }
+                for (int e = head[node]; e != -1; e = next[e]) {
+                    int target = to[e];
+                    if (capacity[e] <= 0 || potential[target] == Long.MAX_VALUE) {
+                        continue;
+                    }
+                    long candidate = distance[node] + cost[e] + potential[node] - potential[target];
+                    if (candidate < distance[target]) {
+                        distance[target] = candidate;
+                        heap.add(new long[] {candidate, target});
+                    }
+                }
+            }
+            if (distance[sink] == Long.MAX_VALUE) {
+                break;
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                if (distance[node] != Long.MAX_VALUE) {
+                    potential[node] += distance[node];
+                }
+            }
+
+            // Push as much as possible along all current shortest paths (zero reduced cost edges)
+            long pushed;
+            do {
+                Arrays.fill(visited, false);
+                pushed = augmentShortest(source, sink, limit - total, potential, visited);
+                total += pushed;
+            } while (pushed > 0 && total < limit);
+        }
+        return total;
+    }
+
+    /**
+     * Get the total cost of the flow currently routed through the network
+     *
+     * @return sum of flow times unit cost over all edges
+     */
+    public long getTotalCost() {
+        long total = 0;
+        for (int e = 0; e < edgeCount; e += 2) {
+            total += capacity[e ^ 1] * cost[e];
+        }
+        return total;
+    }
+
+    /**
+     * Find the nodes reachable from the source in the residual network.
+     * After {@link #maxFlow(int, int)} these form the source side of a minimum cut.
+     *
+     * @param source source node
+     * @return reachability flag per node
+     */
+    public boolean[] residualReachable(int source) {
+        boolean[] seen = new boolean[nodeCount];
+        int tail = 0;
+        queue[tail++] = source;
+        seen[source] = true;
+        for (int qi = 0; qi < tail; qi++) {
+            int node = queue[qi];
+            for (int e = head[node]; e != -1; e = next[e]) {
+                if (capacity[e] > 0 && !seen[to[e]]) {
+                    seen[to[e]] = true;
+                    queue[tail++] = to[e];
+                }
+            }
+        }
+        return seen;
+    }
+
+    private long augmentShortest(int node, int sink, long limit, long[] potential, boolean[] visited) {
+        if (node == sink) {
+            return limit;
+        }
+        visited[node] = true;
+        long used = 0;
+        for (int e = head[node]; e != -1 && used < limit; e = next[e]) {
+            int target = to[e];
+            if (capacity[e] > 0 && !visited[target] && potential[target] != Long.MAX_VALUE &&
+                    cost[e] + potential[node] - potential[target] == 0) {
+                long pushed = augmentShortest(target, sink, Math.min(limit - used, capacity[e]), potential, visited);
+                capacity[e] -= pushed;
+                capacity[e ^ 1] += pushed;
+                used += pushed;
+            }
+        }
+        return used;
+    }
+
+    // Shortest distances from the source over edges with capacity, Bellman-Ford with a FIFO queue
+    private long[] initialPotentials(int source) {
+        long[] distance = new long[nodeCount];
+        boolean[] queued = new boolean[nodeCount];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[source] = 0;
+        int first = 0;
+        int size = 1;
+        queue[0] = source;
+        queued[source] = true;
+        while (size > 0) {
+            int node = queue[first];
+            first = (first + 1) % nodeCount;
+            size--;
+            queued[node] = false;
+            for (int e = head[node]; e != -1; e = next[e]) {
+                if (capacity[e] > 0 && distance[node] + cost[e] < distance[to[e]]) {
+                    distance[to[e]] = distance[node] + cost[e];
+                    if (!queued[to[e]]) {
+                        queued[to[e]] = true;
+                        queue[(first + size) % nodeCount] = to[e];
+                        size++;
+                    }
+                }
+            }
+        }
+        return distance;
+    }
+
+    private boolean buildLevels(int source, int sink) {
+        Arrays.fill(level, -1);
+        int tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        for (int qi = 0; qi < tail; qi++) {
+            int node = queue[qi];
+            for (int e = head[node]; e != -1; e = next[e]) {
+                if (capacity[e] > 0 && level[to[e]] < 0) {
+                    level[to[e]] = level[node] + 1;
+                    queue[tail++] = to[e];
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    private long augment(int node, int sink, long limit) {
+        if (node == sink) {
+            return limit;
+        }
+        for (; iterator[node] != -1; iterator[node] = next[iterator[node]]) {
+            int e = iterator[node];
+            int target = to[e];
+            if (capacity[e] > 0 && level[target] == level[node] + 1) {
+                long pushed = augment(target, sink, Math.min(limit, capacity[e]));
+                if (pushed > 0) {
+                    capacity[e] -= pushed;
+                    capacity[e ^ 1] += pushed;
+                    return pushed;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void link(int from, int target, long cap, long unitCost) {
+        to[edgeCount] = target;
+        capacity[edgeCount] = cap;
+        cost[edgeCount] = unitCost;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount;
+        edgeCount++;
+    }
+
+    private void ensureEdgeCapacity(int required) {
+        if (required <= to.length) {
+            return;
+        }
+        int size = Math.max(required, to.length * 2);
+        next = Arrays.copyOf(next, size);
+        to = Arrays.copyOf(to, size);
+        capacity = Arrays.copyOf(capacity, size);
+        cost = Arrays.copyOf(cost, size);
+    }
+}
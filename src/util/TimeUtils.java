@@ -113,6 +113,53 @@ public class TimeUtils {
         return (value1 == 1 && value2 == 5) || (value1 == 5 && value2 == 1);
     }
 
+    /**
+     * Bit of a day in a day mask, Monday being bit 0
+     *
+     * @param day the day
+     * @return mask with only that day set
+     */
+    public static int dayBit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    /**
+     * Find the pairs of adjacent days that are both set in a day mask, using the adjacency of the BITS
+     * day-gap policy: consecutive days of the whole week, weekends included, plus Friday and Monday
+     *
+     * @param dayMask days as built with dayBit
+     * @return mask with bit d (0 to 5) set if day d and the day after it are both in dayMask;
+     *         bit 6 stands for the Friday and Monday pair
+     */
+    public static int adjacentDayPairs(int dayMask) {
+        int week = dayMask & 0x7F;
+        int pairs = week & (week >>> 1);
+        if ((week & 0x11) == 0x11) {
+            pairs |= 0x40;
+        }
+        return pairs;
+    }
+
+    /**
+     * Day a pair bit of adjacentDayPairs starts from
+     *
+     * @param pairBit index of the bit
+     * @return the earlier day of the pair, Friday for the Friday and Monday pair
+     */
+    public static DayOfWeek pairFirstDay(int pairBit) {
+        return pairBit == 6 ? DayOfWeek.FRIDAY : DayOfWeek.of(pairBit + 1);
+    }
+
+    /**
+     * Day a pair bit of adjacentDayPairs leads to
+     *
+     * @param pairBit index of the bit
+     * @return the later day of the pair, Monday for the Friday and Monday pair
+     */
+    public static DayOfWeek pairSecondDay(int pairBit) {
+        return pairBit == 6 ? DayOfWeek.MONDAY : DayOfWeek.of(pairBit + 2);
+    }
+
     /**
      * Generate a list of standard time slots for the day
      *
@@ -146,6 +193,19 @@ public class TimeUtils {
         return (end.getHour() - start.getHour()) * 60 + (end.getMinute() - start.getMinute());
     }
 
+    /**
+     * Calculate duration in whole hours, a started hour counting as a full one
+     *
+     * @param start start time
+     * @param end end time
+     * @return duration in hours
+     */
+    public static int getDurationHours(LocalTime start, LocalTime end) {
+        int hours = end.getHour() - start.getHour();
+        if (end.getMinute() > 0) hours++;
+        return hours;
+    }
+
     /**
      * Get working days (Monday to Friday)
      *
@@ -0,0 +1,111 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the K greatest elements offered to it, using a bounded min-heap.
+ * Memory stays O(K) no matter how many elements are offered.
+ *
+ * @param <T> element type
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Create a selector
+     *
+     * @param k number of elements to keep
+     * @param comparator ordering, greater elements are kept
+     */
+    public TopK(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.max(1, k), comparator);
+    }
+
+    /**
+     * Offer an element
+     *
+     * @param element the candidate
+     * @return true if the element is now among the kept elements
+     */
+    public boolean offer(T element) {
+        if (k <= 0) {
+            return false;
+        }
+        if (heap.size() < k) {
+            heap.add(element);
+            return true;
+        }
+        if (comparator.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check whether an element would currently be kept if offered
+     *
+     * @param element the candidate
+     * @return true if it beats the smallest kept element or there is room left
+     */
+    public boolean wouldAccept(T element) {
+        return k > 0 && (heap.size() < k || comparator.compare(element, heap.peek()) > 0);
+    }
+
+    /**
+     * Get the smallest kept element, the one the next accepted offer evicts when full
+     *
+     * @return the smallest element, or null if none is kept
+     */
+    public T peek() {
+        return heap.peek();
+    }
+
+    /**
+     * Remove a kept element
+     *
+     * @param element the element to remove
+     * @return true if it was kept
+     */
+    public boolean remove(T element) {
+        return heap.remove(element);
+    }
+
+    /**
+     * Get the number of kept elements
+     *
+     * @return size, at most K
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Get the kept elements, greatest first
+     *
+     * @return a new sorted list
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(comparator.reversed());
+        return result;
+    }
+
+    /**
+     * Get the kept elements in heap order
+     *
+     * @return a new unsorted list
+     */
+    public List<T> toList() {
+        return new ArrayList<>(heap);
+    }
+}
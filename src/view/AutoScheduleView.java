@@ -21,7 +21,7 @@ public class AutoScheduleView extends JPanel {
     private JButton addCourseButton, removeCourseButton, clearCoursesButton;
 
     private JPanel timetablePanel;
-    private JButton generateButton, nextButton, prevButton, saveButton, regenerateButton;
+    private JButton generateButton, nextButton, prevButton, saveButton, regenerateButton, statisticsButton;
     private JLabel suggestionLabel;
 
     private List<Course> selectedCourses;
@@ -77,17 +77,20 @@ public class AutoScheduleView extends JPanel {
         nextButton = new JButton("Next");
         saveButton = new JButton("Save Current");
         regenerateButton = new JButton("Regenerate");
+        statisticsButton = new JButton("Statistics");
 
         timetableControlPanel.add(generateButton);
         timetableControlPanel.add(prevButton);
         timetableControlPanel.add(nextButton);
         timetableControlPanel.add(saveButton);
         timetableControlPanel.add(regenerateButton);
+        timetableControlPanel.add(statisticsButton);
 
         prevButton.setEnabled(false);
         nextButton.setEnabled(false);
         saveButton.setEnabled(false);
         regenerateButton.setEnabled(false);
+        statisticsButton.setEnabled(false);
 
         suggestionLabel = new JLabel("No suggestions generated yet");
         suggestionLabel.setHorizontalAlignment(JLabel.CENTER);
@@ -128,6 +131,7 @@ public class AutoScheduleView extends JPanel {
         nextButton.addActionListener(e -> nextSuggestion());
         saveButton.addActionListener(e -> saveCurrentSuggestion());
         regenerateButton.addActionListener(e -> regenerateSuggestions());
+        statisticsButton.addActionListener(e -> showStatistics());
     }
 
     private void addCourses() {
@@ -244,7 +248,7 @@ public class AutoScheduleView extends JPanel {
                 LocalTime startTime = LocalTime.of(hour, 0);
                 LocalTime endTime = LocalTime.of(hour + 1, 0);
 
-                TimeSlot lectureSlot = new TimeSlot(day, startTime, endTime, false);
+                TimeSlot lectureSlot = TimeSlotRegistry.intern(day, startTime, endTime, false);
                 availableTimeSlots.add(lectureSlot);
             }
 
@@ -253,7 +257,7 @@ public class AutoScheduleView extends JPanel {
                 LocalTime startTime = LocalTime.of(hour, 0);
                 LocalTime endTime = LocalTime.of(hour + 2, 0);
 
-                TimeSlot labSlot = new TimeSlot(day, startTime, endTime, true);
+                TimeSlot labSlot = TimeSlotRegistry.intern(day, startTime, endTime, true);
                 availableTimeSlots.add(labSlot);
             }
         }
@@ -292,6 +296,21 @@ public class AutoScheduleView extends JPanel {
             @Override
             protected void done() {
                 progressDialog.dispose();
+
+                // Explain why nothing was generated when the input is impossible to schedule
+                FeasibilityReport report = timeTableController.getLastFeasibilityReport();
+                if (report != null && !report.isFeasible()) {
+                    StringBuilder sb = new StringBuilder("The selected courses cannot be scheduled:\n\n");
+                    for (String reason : report.getReasons()) {
+                        sb.append("- ").append(reason).append("\n");
+                    }
+                    JOptionPane.showMessageDialog(AutoScheduleView.this, sb.toString(),
+                            "Infeasible Input", JOptionPane.WARNING_MESSAGE);
+                    suggestionLabel.setText("No suggestions generated (infeasible input)");
+                    statisticsButton.setEnabled(false);
+                    return;
+                }
+
                 updateTimetableDisplay();
 
                 // Enable/disable navigation buttons
@@ -299,10 +318,10 @@ public class AutoScheduleView extends JPanel {
                 nextButton.setEnabled(timeTableController.hasNextSuggestion());
                 saveButton.setEnabled(true);
                 regenerateButton.setEnabled(true);
+                statisticsButton.setEnabled(timeTableController.getLastSchedulerStatistics() != null);
 
                 // Update suggestion label
-                suggestionLabel.setText("Suggestion 1" +
-                        (timeTableController.hasNextSuggestion() ? " (more available)" : ""));
+                updateSuggestionLabel();
             }
         };
 
@@ -319,9 +338,7 @@ public class AutoScheduleView extends JPanel {
             prevButton.setEnabled(timeTableController.hasPreviousSuggestion());
 
             // Update suggestion label
-            int currentIndex = timeTableController.getCurrentSuggestionIndex() + 1;
-            suggestionLabel.setText("Suggestion " + currentIndex +
-                    (timeTableController.hasNextSuggestion() ? " (more available)" : ""));
+            updateSuggestionLabel();
         }
     }
 
@@ -335,10 +352,20 @@ public class AutoScheduleView extends JPanel {
             nextButton.setEnabled(timeTableController.hasNextSuggestion());
 
             // Update suggestion label
-            int currentIndex = timeTableController.getCurrentSuggestionIndex() + 1;
-            suggestionLabel.setText("Suggestion " + currentIndex +
-                    (timeTableController.hasNextSuggestion() ? " (more available)" : ""));
+            updateSuggestionLabel();
+        }
+    }
+
+    private void updateSuggestionLabel() {
+        int currentIndex = timeTableController.getCurrentSuggestionIndex() + 1;
+        if (currentIndex == 0) {
+            suggestionLabel.setText("No suggestions could be generated");
+            return;
         }
+
+        Timetable timetable = timeTableController.getCurrentTimetable();
+        suggestionLabel.setText(String.format("Suggestion %d (score %.1f)", currentIndex, timetable.getScore()) +
+                (timeTableController.hasNextSuggestion() ? " (more available)" : ""));
     }
 
     private void saveCurrentSuggestion() {
@@ -353,6 +380,16 @@ public class AutoScheduleView extends JPanel {
         }
     }
 
+    // Search counters and phase timings of the last run, including suggestions prefetched so far
+    private void showStatistics() {
+        SchedulerStatistics statistics = timeTableController.getLastSchedulerStatistics();
+        if (statistics == null) {
+            return;
+        }
+        JOptionPane.showMessageDialog(this, String.join("\n", statistics.toLines()),
+                "Solver Statistics", JOptionPane.INFORMATION_MESSAGE);
+    }
+
     private void regenerateSuggestions() {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "This will generate a new set of suggestions. Continue?",
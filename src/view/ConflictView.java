@@ -1,17 +1,30 @@
 package view;
 
 import controller.ConflictChecker;
+import controller.ConflictRepair;
+import controller.ConflictRepairEngine;
+import model.Classroom;
+import model.Conflict;
 import model.CourseSchedule;
+import model.PolicyViolation;
+import model.TimeSlot;
 import model.Timetable;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ConflictView extends JDialog {
     private ConflictChecker conflictChecker;
     private Timetable timetable;
+    private List<Classroom> classrooms;
+    private ConflictRepairEngine repairEngine = new ConflictRepairEngine();
+    private List<Conflict> rowConflicts = new ArrayList<>(); // Conflict of each table row, null for policy rows
 
     private JTable conflictsTable;
     private DefaultTableModel tableModel;
@@ -19,9 +32,15 @@ public class ConflictView extends JDialog {
     private JButton resolveButton, ignoreButton, closeButton;
 
     public ConflictView(Frame parent, ConflictChecker conflictChecker, Timetable timetable) {
+        this(parent, conflictChecker, timetable, classroomsIn(timetable));
+    }
+
+    // Repairs may move sessions to any of the given classrooms
+    public ConflictView(Frame parent, ConflictChecker conflictChecker, Timetable timetable, List<Classroom> classrooms) {
         super(parent, "Timetable Conflicts", true);
         this.conflictChecker = conflictChecker;
         this.timetable = timetable;
+        this.classrooms = classrooms;
 
         initializeUI();
         detectConflicts();
@@ -90,58 +109,54 @@ public class ConflictView extends JDialog {
         closeButton.addActionListener(e -> dispose());
     }
 
+    // Without a classroom list, the classrooms the timetable already uses
+    private static List<Classroom> classroomsIn(Timetable timetable) {
+        Set<Classroom> classrooms = new LinkedHashSet<>();
+        for (CourseSchedule schedule : timetable.getSchedules()) {
+            classrooms.add(schedule.getClassroom());
+        }
+        return new ArrayList<>(classrooms);
+    }
+
     private void detectConflicts() {
         // Clear the table
         tableModel.setRowCount(0);
+        rowConflicts.clear();
 
-        // Get all schedules
-        List<CourseSchedule> schedules = timetable.getSchedules();
-
-        // Check each pair of schedules for conflicts
-        for (int i = 0; i < schedules.size(); i++) {
-            for (int j = i + 1; j < schedules.size(); j++) {
-                CourseSchedule schedule1 = schedules.get(i);
-                CourseSchedule schedule2 = schedules.get(j);
-
-                if (conflictChecker.conflictExists(schedule1, schedule2)) {
-                    // Determine conflict type
-                    String conflictType = determineConflictType(schedule1, schedule2);
-                    String resource = determineConflictResource(schedule1, schedule2, conflictType);
-
-                    Object[] rowData = {
-                            conflictType,
-                            schedule1.getCourse().getCourseCode(),
-                            schedule2.getCourse().getCourseCode(),
-                            schedule1.getTimeSlot().getDay(),
-                            schedule1.getTimeSlot().getStartTime() + "-" + schedule1.getTimeSlot().getEndTime(),
-                            resource
-                    };
-
-                    tableModel.addRow(rowData);
-                }
-            }
+        // Find all conflicting pairs with a sweep over each day and resource
+        for (Conflict conflict : conflictChecker.detectConflicts(timetable)) {
+            CourseSchedule schedule1 = conflict.getFirst();
+            CourseSchedule schedule2 = conflict.getSecond();
+
+            Object[] rowData = {
+                    conflict.getType().getDisplayName(),
+                    schedule1.getCourse().getCourseCode(),
+                    schedule2.getCourse().getCourseCode(),
+                    conflict.getDay().toString(),
+                    schedule1.getTimeSlot().getStartTime() + "-" + schedule1.getTimeSlot().getEndTime(),
+                    conflict.getResourceName()
+            };
+
+            tableModel.addRow(rowData);
+            rowConflicts.add(conflict);
         }
 
         // Check BITS policies
-        List<String> policyViolations = conflictChecker.checkBITSPolicyCompliance(timetable);
-        for (String violation : policyViolations) {
-            // Extract course code if present
-            String courseCode = "N/A";
-            if (violation.contains("has")) {
-                String[] parts = violation.split(" has ");
-                courseCode = parts[0];
-            }
+        List<PolicyViolation> policyViolations = conflictChecker.policyViolations(timetable).collect(Collectors.toList());
+        for (PolicyViolation violation : policyViolations) {
+            TimeSlot slot = violation.getTimeSlot();
 
             Object[] rowData = {
                     "Policy Violation",
-                    courseCode,
-                    "",
+                    violation.getCourse() != null ? violation.getCourse().getCourseCode() : "N/A",
                     "",
-                    "",
-                    violation
+                    violation.getDay() != null ? violation.getDay().toString() : "",
+                    slot != null ? slot.getStartTime() + "-" + slot.getEndTime() : "",
+                    violation.getMessage()
             };
 
             tableModel.addRow(rowData);
+            rowConflicts.add(null);
         }
 
         // Update buttons and description
@@ -157,31 +172,6 @@ public class ConflictView extends JDialog {
         }
     }
 
-    private String determineConflictType(CourseSchedule schedule1, CourseSchedule schedule2) {
-        if (schedule1.getClassroom().equals(schedule2.getClassroom())) {
-            return "Classroom Conflict";
-        } else if (schedule1.getInstructor().equals(schedule2.getInstructor())) {
-            return "Instructor Conflict";
-        } else if (schedule1.getCourse().equals(schedule2.getCourse())) {
-            return "Course Conflict";
-        } else {
-            return "Time Conflict";
-        }
-    }
-
-    private String determineConflictResource(CourseSchedule schedule1, CourseSchedule schedule2, String conflictType) {
-        switch (conflictType) {
-            case "Classroom Conflict":
-                return schedule1.getClassroom().getRoomNumber();
-            case "Instructor Conflict":
-                return schedule1.getInstructor().getName();
-            case "Course Conflict":
-                return schedule1.getCourse().getCourseCode();
-            default:
-                return "";
-        }
-    }
-
     private void updateDescription() {
         int selectedRow = conflictsTable.getSelectedRow();
         if (selectedRow == -1) {
@@ -215,11 +205,45 @@ public class ConflictView extends JDialog {
         int selectedRow = conflictsTable.getSelectedRow();
         if (selectedRow == -1) return;
 
-        // In a real implementation, this would open a dialog to help resolve the conflict
-        // For this example, we'll just show a message
-        JOptionPane.showMessageDialog(this,
-                "This would open a conflict resolution dialog to help reschedule one of the conflicting sessions.",
-                "Resolve Conflict", JOptionPane.INFORMATION_MESSAGE);
+        Conflict conflict = rowConflicts.get(selectedRow);
+        if (conflict == null) {
+            JOptionPane.showMessageDialog(this,
+                    "Policy violations have to be resolved by rescheduling sessions by hand.",
+                    "Resolve Conflict", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        List<ConflictRepair> repairs = repairEngine.suggest(timetable, conflict, classrooms);
+        if (repairs.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "No room change, move or swap resolves this conflict without creating another one.",
+                    "Resolve Conflict", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        // Cheapest first, as ranked by disruption and policy impact
+        String[] options = new String[repairs.size()];
+        for (int i = 0; i < repairs.size(); i++) {
+            options[i] = repairs.get(i).toString();
+        }
+        Object choice = JOptionPane.showInputDialog(this,
+                "Choose how to resolve the conflict between " + conflict.getFirst().getCourse().getCourseCode() +
+                        " and " + conflict.getSecond().getCourse().getCourseCode() + ":",
+                "Resolve Conflict", JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice == null) {
+            return;
+        }
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(choice)) {
+                if (!repairs.get(i).apply(timetable)) {
+                    JOptionPane.showMessageDialog(this,
+                            "The timetable changed and this repair no longer applies.",
+                            "Resolve Conflict", JOptionPane.ERROR_MESSAGE);
+                }
+                break;
+            }
+        }
+        detectConflicts();
     }
 
     private void ignoreSelectedConflict() {
@@ -232,6 +256,7 @@ public class ConflictView extends JDialog {
 
         if (confirm == JOptionPane.YES_OPTION) {
             tableModel.removeRow(selectedRow);
+            rowConflicts.remove(selectedRow);
 
             if (tableModel.getRowCount() > 0) {
                 conflictsTable.setRowSelectionInterval(0, 0);
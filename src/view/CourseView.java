@@ -3,6 +3,7 @@ package view;
 import controller.CourseController;
 import model.Course;
 import model.TimeSlot;
+import model.TimeSlotRegistry;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
@@ -359,7 +360,7 @@ public class CourseView extends JPanel {
                     LocalTime startTime = LocalTime.of(hour, 0);
                     LocalTime endTime = LocalTime.of(hour + 1, 0);
 
-                    TimeSlot timeSlot = new TimeSlot(day, startTime, endTime);
+                    TimeSlot timeSlot = TimeSlotRegistry.intern(day, startTime, endTime);
 
                     JCheckBox slotCheckBox = new JCheckBox(
                             String.format("%02d:00 - %02d:00", hour, hour + 1));
@@ -5,6 +5,7 @@ import controller.InstructorController;
 import model.Course;
 import model.Instructor;
 import model.TimeSlot;
+import model.TimeSlotRegistry;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
@@ -447,7 +448,7 @@ public class InstructorView extends JPanel {
                     LocalTime startTime = LocalTime.of(hour, 0);
                     LocalTime endTime = LocalTime.of(hour + 1, 0);
 
-                    TimeSlot timeSlot = new TimeSlot(day, startTime, endTime);
+                    TimeSlot timeSlot = TimeSlotRegistry.intern(day, startTime, endTime);
 
                     JCheckBox slotCheckBox = new JCheckBox(
                             String.format("%02d:00 - %02d:00", hour, hour + 1));
@@ -0,0 +1,157 @@
+package view;
+
+import controller.SlotHeatmap;
+import model.ConflictType;
+import util.Constants;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+// Colour overlay of a SlotHeatmap: one column per day, one row per start hour. Free starts are shaded from
+// pale to strong green by score, blocked ones use the conflict colour. Clicking a cell reports its day and
+// hour index to the listener.
+public class SlotHeatmapPanel extends JPanel {
+    private static final int HEADER_WIDTH = 45;
+    private static final int HEADER_HEIGHT = 20;
+    private static final Color LOW_SCORE_COLOR = new Color(235, 245, 220);
+    private static final Color HIGH_SCORE_COLOR = new Color(80, 180, 90);
+    private static final Color OUTSIDE_COLOR = new Color(225, 225, 225);
+
+    private SlotHeatmap heatmap;
+    private int selectedDay = -1;
+    private int selectedHour = -1;
+    private BiConsumer<Integer, Integer> cellListener;
+
+    public SlotHeatmapPanel() {
+        setPreferredSize(new Dimension(HEADER_WIDTH + 5 * 55, HEADER_HEIGHT + 10 * 22));
+        setToolTipText("");
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int[] cell = cellAt(e.getPoint());
+                if (cell != null && cellListener != null) {
+                    cellListener.accept(cell[0], cell[1]);
+                }
+            }
+        });
+    }
+
+    public void setHeatmap(SlotHeatmap heatmap) {
+        this.heatmap = heatmap;
+        repaint();
+    }
+
+    public SlotHeatmap getHeatmap() {
+        return heatmap;
+    }
+
+    // Cell to outline, for the placement currently in the form; -1 for none
+    public void setSelectedCell(int dayIndex, int hourIndex) {
+        this.selectedDay = dayIndex;
+        this.selectedHour = hourIndex;
+        repaint();
+    }
+
+    public void setCellListener(BiConsumer<Integer, Integer> cellListener) {
+        this.cellListener = cellListener;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (heatmap == null) {
+            return;
+        }
+
+        int cellWidth = cellWidth();
+        int cellHeight = cellHeight();
+        g.setColor(Constants.HEADER_COLOR);
+        g.fillRect(0, 0, getWidth(), HEADER_HEIGHT);
+        g.fillRect(0, 0, HEADER_WIDTH, getHeight());
+        g.setColor(Color.DARK_GRAY);
+        for (int d = 0; d < heatmap.getDayCount(); d++) {
+            g.drawString(heatmap.getDay(d).toString().substring(0, 3), HEADER_WIDTH + d * cellWidth + 4, HEADER_HEIGHT - 5);
+        }
+        for (int h = 0; h < heatmap.getHourCount(); h++) {
+            g.drawString(String.format("%02d:00", heatmap.getHour(h)), 4, HEADER_HEIGHT + h * cellHeight + cellHeight - 6);
+        }
+
+        for (int d = 0; d < heatmap.getDayCount(); d++) {
+            for (int h = 0; h < heatmap.getHourCount(); h++) {
+                int x = HEADER_WIDTH + d * cellWidth;
+                int y = HEADER_HEIGHT + h * cellHeight;
+                g.setColor(colorOf(d, h));
+                g.fillRect(x, y, cellWidth, cellHeight);
+                g.setColor(Color.WHITE);
+                g.drawRect(x, y, cellWidth, cellHeight);
+            }
+        }
+
+        if (selectedDay >= 0 && selectedHour >= 0) {
+            g.setColor(Constants.SELECTION_COLOR);
+            ((Graphics2D) g).setStroke(new BasicStroke(2));
+            g.drawRect(HEADER_WIDTH + selectedDay * cellWidth + 1, HEADER_HEIGHT + selectedHour * cellHeight + 1,
+                    cellWidth - 2, cellHeight * Math.min(heatmap.getDurationHours(), heatmap.getHourCount() - selectedHour) - 2);
+        }
+    }
+
+    private Color colorOf(int dayIndex, int hourIndex) {
+        if (heatmap.isFeasible(dayIndex, hourIndex)) {
+            double share = heatmap.getScore(dayIndex, hourIndex) / 100.0;
+            return blend(LOW_SCORE_COLOR, HIGH_SCORE_COLOR, share);
+        }
+        return heatmap.getBlockingTypes(dayIndex, hourIndex).isEmpty() ? OUTSIDE_COLOR : Constants.CONFLICT_COLOR;
+    }
+
+    private static Color blend(Color from, Color to, double share) {
+        return new Color(
+                (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * share),
+                (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * share),
+                (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * share));
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int[] cell = cellAt(event.getPoint());
+        if (cell == null) {
+            return null;
+        }
+        String when = heatmap.getDay(cell[0]) + " " + String.format("%02d:00", heatmap.getHour(cell[1]));
+        if (heatmap.isFeasible(cell[0], cell[1])) {
+            return String.format("%s: free, score %.0f", when, heatmap.getScore(cell[0], cell[1]));
+        }
+        Set<ConflictType> blocking = heatmap.getBlockingTypes(cell[0], cell[1]);
+        if (blocking.isEmpty()) {
+            return when + ": runs past the end of the day";
+        }
+        StringBuilder sb = new StringBuilder(when).append(": busy");
+        for (ConflictType type : blocking) {
+            sb.append(" - ").append(type.getDisplayName());
+        }
+        return sb.toString();
+    }
+
+    private int[] cellAt(Point point) {
+        if (heatmap == null || point.x < HEADER_WIDTH || point.y < HEADER_HEIGHT) {
+            return null;
+        }
+        int day = (point.x - HEADER_WIDTH) / cellWidth();
+        int hour = (point.y - HEADER_HEIGHT) / cellHeight();
+        if (day >= heatmap.getDayCount() || hour >= heatmap.getHourCount()) {
+            return null;
+        }
+        return new int[] {day, hour};
+    }
+
+    private int cellWidth() {
+        return Math.max(1, (getWidth() - HEADER_WIDTH) / Math.max(1, heatmap.getDayCount()));
+    }
+
+    private int cellHeight() {
+        return Math.max(1, (getHeight() - HEADER_HEIGHT) / Math.max(1, heatmap.getHourCount()));
+    }
+}
@@ -17,7 +17,6 @@ public class TimetableView extends JPanel {
     private ClassroomController classroomController;
     private CourseController courseController;
     private InstructorController instructorController;
-    private ConflictChecker conflictChecker;
 
     private JPanel timetablePanel;
     private JComboBox<Classroom> classroomComboBox;
@@ -30,6 +29,7 @@ public class TimetableView extends JPanel {
     private JButton addScheduleButton, removeScheduleButton, clearSelectionButton, validateButton;
     private JTable scheduleTable;
     private DefaultTableModel tableModel;
+    private SlotHeatmapPanel heatmapPanel;
 
     private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
@@ -41,7 +41,6 @@ public class TimetableView extends JPanel {
         this.classroomController = classroomController;
         this.courseController = courseController;
         this.instructorController = instructorController;
-        this.conflictChecker = new ConflictChecker();
 
         initializeUI();
         refreshTimetable();
@@ -180,6 +179,13 @@ public class TimetableView extends JPanel {
         JScrollPane tableScrollPane = new JScrollPane(scheduleTable);
         timetablePanel.add(tableScrollPane, BorderLayout.CENTER);
 
+        // Availability heatmap for the course, instructor and classroom in the form
+        heatmapPanel = new SlotHeatmapPanel();
+        JPanel availabilityPanel = new JPanel(new BorderLayout());
+        availabilityPanel.setBorder(BorderFactory.createTitledBorder("Availability"));
+        availabilityPanel.add(heatmapPanel, BorderLayout.CENTER);
+        timetablePanel.add(availabilityPanel, BorderLayout.EAST);
+
         // Add components to main panel
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.add(controlPanel, BorderLayout.NORTH);
@@ -207,9 +213,66 @@ public class TimetableView extends JPanel {
         // Update combo boxes when course selection changes
         courseComboBox.addActionListener(e -> {
             updateInstructorOptions();
+            updateHeatmap();
+        });
+
+        // Keep the heatmap in step with the form, and fill the form from a clicked cell
+        instructorComboBox.addActionListener(e -> updateHeatmap());
+        classroomComboBox.addActionListener(e -> updateHeatmap());
+        dayComboBox.addActionListener(e -> updateHeatmap());
+        endTimeComboBox.addActionListener(e -> updateHeatmap());
+        labCheckBox.addActionListener(e -> updateHeatmap());
+        heatmapPanel.setCellListener((dayIndex, hourIndex) -> {
+            SlotHeatmap heatmap = heatmapPanel.getHeatmap();
+            if (heatmap == null) {
+                return;
+            }
+            int duration = heatmap.getDurationHours();
+            dayComboBox.setSelectedItem(heatmap.getDay(dayIndex).toString());
+            startTimeComboBox.setSelectedItem(String.format("%02d:00", heatmap.getHour(hourIndex)));
+            endTimeComboBox.setSelectedItem(String.format("%02d:00", heatmap.getHour(hourIndex) + duration));
         });
     }
 
+    private void updateHeatmap() {
+        if (heatmapPanel == null) {
+            return;
+        }
+        Course course = (Course) courseComboBox.getSelectedItem();
+        Instructor instructor = (Instructor) instructorComboBox.getSelectedItem();
+        Classroom classroom = (Classroom) classroomComboBox.getSelectedItem();
+        if (course == null || instructor == null || classroom == null) {
+            heatmapPanel.setHeatmap(null);
+            return;
+        }
+
+        // Duration follows the chosen start and end times, one hour until both are set
+        String startTimeStr = (String) startTimeComboBox.getSelectedItem();
+        String endTimeStr = (String) endTimeComboBox.getSelectedItem();
+        int duration = 1;
+        if (startTimeStr != null && endTimeStr != null) {
+            duration = Math.max(1, LocalTime.parse(endTimeStr).getHour() - LocalTime.parse(startTimeStr).getHour());
+        }
+
+        SlotHeatmap heatmap = timeTableController.getSlotHeatmap(course, instructor, classroom,
+                duration, labCheckBox.isSelected());
+        heatmapPanel.setHeatmap(heatmap);
+
+        int dayIndex = -1;
+        int hourIndex = -1;
+        String dayStr = (String) dayComboBox.getSelectedItem();
+        for (int d = 0; d < heatmap.getDayCount(); d++) {
+            if (heatmap.getDay(d).toString().equals(dayStr)) {
+                dayIndex = d;
+            }
+        }
+        if (startTimeStr != null) {
+            hourIndex = LocalTime.parse(startTimeStr).getHour() - heatmap.getHour(0);
+        }
+        heatmapPanel.setSelectedCell(dayIndex,
+                hourIndex >= 0 && hourIndex < heatmap.getHourCount() ? hourIndex : -1);
+    }
+
     public void refreshTimetable() {
         // Clear the table
         tableModel.setRowCount(0);
@@ -234,6 +297,8 @@ public class TimetableView extends JPanel {
 
             tableModel.addRow(rowData);
         }
+
+        updateHeatmap();
     }
 
     private void updateCourseOptions() {
@@ -289,6 +354,7 @@ public class TimetableView extends JPanel {
         for (int hour = startTime.getHour() + 1; hour <= 18; hour++) {
             endTimeComboBox.addItem(String.format("%02d:00", hour));
         }
+        updateHeatmap();
     }
 
     private void populateFormFromTable(int row) {
@@ -388,19 +454,17 @@ public class TimetableView extends JPanel {
         LocalTime endTime = LocalTime.parse(endTimeStr);
 
         // Create time slot
-        TimeSlot timeSlot = new TimeSlot(day, startTime, endTime, isLab);
+        TimeSlot timeSlot = TimeSlotRegistry.intern(day, startTime, endTime, isLab);
 
         // Create schedule
         CourseSchedule schedule = new CourseSchedule(course, instructor, classroom, timeSlot, isLab);
 
-        // Check for conflicts
-        List<CourseSchedule> existingSchedules = timeTableController.getAllSchedules();
-        if (conflictChecker.hasConflict(schedule, existingSchedules)) {
-            int confirm = JOptionPane.showConfirmDialog(this,
-                    "There is a scheduling conflict. Do you still want to add this schedule?",
-                    "Conflict Detected", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
-
-            if (confirm != JOptionPane.YES_OPTION) {
+        // Check for conflicts, offering the nearest free placements instead
+        PlacementExplanation explanation = timeTableController.explainPlacement(schedule,
+                classroomController.getAllClassrooms());
+        if (!explanation.isFeasible()) {
+            schedule = chooseAlternative(explanation);
+            if (schedule == null) {
                 return;
             }
         }
@@ -408,12 +472,44 @@ public class TimetableView extends JPanel {
         // Add schedule
         if (timeTableController.addSchedule(schedule)) {
             refreshTimetable();
-            JOptionPane.showMessageDialog(this, "Schedule added successfully", "Success", JOptionPane.INFORMATION_MESSAGE);
+            if (timeTableController.violatesDayGap(schedule.getCourse())) {
+                JOptionPane.showMessageDialog(this, "Schedule added, but " + schedule.getCourse().getCourseCode() +
+                        " now has sessions on adjacent days, against BITS policy", "Policy Warning", JOptionPane.WARNING_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Schedule added successfully", "Success", JOptionPane.INFORMATION_MESSAGE);
+            }
         } else {
             JOptionPane.showMessageDialog(this, "Failed to add schedule", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    // Show what blocks a placement and let the user pick one of the free alternatives; null if cancelled
+    private CourseSchedule chooseAlternative(PlacementExplanation explanation) {
+        List<CourseSchedule> alternatives = explanation.getAlternatives();
+        if (alternatives.isEmpty()) {
+            JOptionPane.showMessageDialog(this, explanation.toString(), "Conflict Detected", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+
+        String[] options = new String[alternatives.size()];
+        for (int i = 0; i < alternatives.size(); i++) {
+            CourseSchedule alternative = alternatives.get(i);
+            options[i] = alternative.getClassroom().getRoomNumber() + " on " + alternative.getTimeSlot();
+        }
+        Object choice = JOptionPane.showInputDialog(this,
+                explanation + "\nAdd the session at one of these free placements instead?",
+                "Conflict Detected", JOptionPane.WARNING_MESSAGE, null, options, options[0]);
+        if (choice == null) {
+            return null;
+        }
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(choice)) {
+                return alternatives.get(i);
+            }
+        }
+        return null;
+    }
+
     private void removeSchedule() {
         int selectedRow = scheduleTable.getSelectedRow();
         if (selectedRow == -1) {